@@ -0,0 +1,32 @@
+package com.example.weekly_report.config;
+
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String REPORT_VIEWS = "reportViews";
+
+    // Evictions and puts issued inside a transaction are applied after commit, so a concurrent
+    // read cannot re-populate the cache with the pre-commit state.
+    @Bean
+    public CacheManager cacheManager(@Value("${spring.cache.cache-names:" + REPORT_VIEWS + "}") List<String> cacheNames,
+                                     @Value("${spring.cache.caffeine.spec:}") String spec) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        if (!spec.isBlank()) {
+            caffeineCacheManager.setCaffeineSpec(CaffeineSpec.parse(spec));
+        }
+        caffeineCacheManager.setCacheNames(cacheNames);
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.weekly_report.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Moves primary keys from IDENTITY columns to the pooled sequences declared on the entities.
+ * Each sequence is raised past the table's current MAX(id) plus one allocation block, and the old
+ * identity default is dropped so a stray insert without an id fails instead of colliding.
+ * Only ever raises a sequence, so it is safe to run on every start.
+ * Runs during context refresh, after Hibernate's schema update has created the sequences and
+ * before the web server starts accepting requests.
+ */
+@Component
+@DependsOn({"entityManagerFactory", "reportContentMigration"})
+public class IdSequenceMigration {
+
+    // Must match allocationSize on the entities' @SequenceGenerator
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final Map<String, String> SEQUENCES = new LinkedHashMap<>();
+    static {
+        SEQUENCES.put("user_accounts", "user_accounts_seq");
+        SEQUENCES.put("base_profiles", "base_profiles_seq");
+        SEQUENCES.put("weekly_reports", "weekly_reports_seq");
+        SEQUENCES.put("weekly_report_content", "weekly_report_content_seq");
+        SEQUENCES.put("report_revisions", "report_revisions_seq");
+        SEQUENCES.put("report_attachments", "report_attachments_seq");
+        SEQUENCES.put("notifications", "notifications_seq");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @PostConstruct
+    public void migrate() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                return;
+            }
+        }
+        for (Map.Entry<String, String> entry : SEQUENCES.entrySet()) {
+            String table = entry.getKey();
+            String sequence = entry.getValue();
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id DROP DEFAULT");
+            jdbcTemplate.queryForObject(
+                "SELECT setval('" + sequence + "', GREATEST(" +
+                "(SELECT COALESCE(MAX(id), 0) FROM " + table + ") + " + ALLOCATION_SIZE + ", " +
+                "(SELECT last_value FROM " + sequence + ")))", Long.class);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.weekly_report.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+/**
+ * One-time move of the narrative TEXT columns from weekly_reports into weekly_report_content.
+ * Runs during context refresh, after Hibernate's schema update has created the content table and
+ * before the web server starts, so no request sees a half-migrated report. IdSequenceMigration
+ * (which raises the content sequence past the copied ids) and ReportSearchInitializer (which indexes
+ * the content table) depend on it; it is a no-op once the old columns are gone.
+ * Content rows reuse the report id so the link can be set in one UPDATE.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class ReportContentMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportContentMigration.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void migrate() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                return;
+            }
+        }
+        Integer legacyColumns = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM information_schema.columns " +
+            "WHERE table_name = 'weekly_reports' AND column_name = 'accomplished_tasks'", Integer.class);
+        if (legacyColumns == null || legacyColumns == 0) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // The generated search column depends on the columns being dropped
+            jdbcTemplate.execute("ALTER TABLE weekly_reports DROP COLUMN IF EXISTS search_vector");
+            int moved = jdbcTemplate.update(
+                "INSERT INTO weekly_report_content (id, accomplished_tasks, challenges_faced, next_week_plans, " +
+                "additional_comments, supervisor_feedback) " +
+                "SELECT id, accomplished_tasks, challenges_faced, next_week_plans, additional_comments, supervisor_feedback " +
+                "FROM weekly_reports WHERE content_id IS NULL");
+            jdbcTemplate.update("UPDATE weekly_reports SET content_id = id WHERE content_id IS NULL");
+            jdbcTemplate.execute(
+                "ALTER TABLE weekly_reports " +
+                "DROP COLUMN accomplished_tasks, DROP COLUMN challenges_faced, DROP COLUMN next_week_plans, " +
+                "DROP COLUMN additional_comments, DROP COLUMN supervisor_feedback");
+            log.info("Moved {} report bodies to weekly_report_content", moved);
+        });
+    }
+}
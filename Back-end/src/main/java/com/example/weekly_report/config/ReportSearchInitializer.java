@@ -0,0 +1,50 @@
+package com.example.weekly_report.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+/**
+ * Creates the full-text search column and its GIN index on weekly_report_content.
+ * Hibernate's ddl-auto cannot express generated tsvector columns, so they are added here
+ * idempotently after the schema update. The column is STORED and GENERATED, so PostgreSQL
+ * keeps it current on every insert/update of the narrative fields.
+ * Runs during context refresh, after ReportContentMigration has moved the bodies (and dropped the
+ * old column on weekly_reports), so the table rewrite and index build finish before the web server
+ * starts and /reports/search never sees the column missing.
+ */
+@Component
+@DependsOn("reportContentMigration")
+public class ReportSearchInitializer {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @PostConstruct
+    public void initialize() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                return;
+            }
+        }
+        jdbcTemplate.execute(
+            "ALTER TABLE weekly_report_content ADD COLUMN IF NOT EXISTS search_vector tsvector " +
+            "GENERATED ALWAYS AS (" +
+            "setweight(to_tsvector('english', coalesce(accomplished_tasks, '')), 'A') || " +
+            "setweight(to_tsvector('english', coalesce(next_week_plans, '')), 'B') || " +
+            "setweight(to_tsvector('english', coalesce(challenges_faced, '')), 'B') || " +
+            "setweight(to_tsvector('english', coalesce(supervisor_feedback, '')), 'C') || " +
+            "setweight(to_tsvector('english', coalesce(additional_comments, '')), 'D')" +
+            ") STORED");
+        jdbcTemplate.execute(
+            "CREATE INDEX IF NOT EXISTS idx_weekly_report_content_search ON weekly_report_content USING GIN (search_vector)");
+    }
+}
@@ -10,6 +10,7 @@ import com.example.weekly_report.security.JwtService;
 import com.example.weekly_report.service.TokenService;
 import com.example.weekly_report.security.CustomUserDetailsService;
 import com.example.weekly_report.service.EmailService;
+import io.jsonwebtoken.Claims;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -177,10 +178,10 @@ public class AuthController {
     public ResponseEntity<?> refreshToken(@RequestHeader("Authorization") String authHeader) {
         try {
             String token = authHeader.substring(7); // Remove "Bearer " prefix
-            String username = jwtService.extractUsername(token);
+            Claims claims = jwtService.verify(token);
+            UserAccount user = (UserAccount) userDetailsService.loadUserByUsername(claims.getSubject());
             
-            if (jwtService.isTokenValid(token, userDetailsService.loadUserByUsername(username))) {
-                UserAccount user = (UserAccount) userDetailsService.loadUserByUsername(username);
+            if (jwtService.isTokenValid(claims, user)) {
                 String newToken = jwtService.generateToken(user);
                 
                 AuthResponse response = new AuthResponse();
@@ -1,26 +1,40 @@
 package com.example.weekly_report.controller;
 
+import com.example.weekly_report.dto.BulkReviewRequest;
+import com.example.weekly_report.dto.BulkReviewResult;
 import com.example.weekly_report.dto.CreateReportRequest;
+import com.example.weekly_report.dto.CursorPage;
+import com.example.weekly_report.dto.ReportFilter;
+import com.example.weekly_report.dto.ReportSearchHit;
+import com.example.weekly_report.dto.ReportVersion;
 import com.example.weekly_report.entity.ReportStatus;
 import com.example.weekly_report.entity.UserAccount;
 import com.example.weekly_report.entity.WeeklyReport;
+import com.example.weekly_report.service.ComplianceService;
+import com.example.weekly_report.service.ReportListVersions;
 import com.example.weekly_report.service.ReportService;
+import com.example.weekly_report.service.RevisionService;
 import com.example.weekly_report.dto.WeeklyReportView;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.TreeMap;
 
 @RestController
 @RequestMapping("/reports")
@@ -30,8 +44,20 @@ public class ReportController {
     @Autowired
     private ReportService reportService;
 
+    @Autowired
+    private ReportListVersions reportListVersions;
+
     @Autowired
     private com.example.weekly_report.service.PdfService pdfService;
+
+    @Autowired
+    private ComplianceService complianceService;
+
+    @Autowired
+    private RevisionService revisionService;
+
+    // Clients may keep a copy but must revalidate it (If-None-Match) before reuse
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
     
     @PostMapping
     public ResponseEntity<?> createReport(@Valid @RequestBody CreateReportRequest request, 
@@ -93,6 +119,37 @@ public class ReportController {
         }
     }
     
+    @PostMapping("/bulk-review")
+    public ResponseEntity<?> bulkReview(@Valid @RequestBody BulkReviewRequest request,
+                                      Authentication authentication) {
+        try {
+            UserAccount user = (UserAccount) authentication.getPrincipal();
+            Long supervisorScope;
+            if (user.getRole().name().equals("SUPERVISOR")) {
+                supervisorScope = user.getProfile().getId();
+            } else if (user.getRole().name().equals("ADMIN")) {
+                supervisorScope = null;
+            } else {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "Only supervisors and admins can review reports");
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+            }
+            ReportStatus decision = request.getDecision().equals("APPROVE") ? ReportStatus.APPROVED : ReportStatus.REJECTED;
+            List<BulkReviewResult> results = reportService.bulkReview(request.getReportIds(), decision,
+                    request.getFeedback(), supervisorScope, user.getId(), user.getUsername());
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("results", results);
+            response.put("reviewed", results.stream().filter(r -> r.getOutcome().equals(decision.name())).count());
+            response.put("requested", results.size());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+    
     @PostMapping("/{reportId}/approve")
     public ResponseEntity<?> approveReport(@PathVariable Long reportId,
                                          @RequestParam(required = false) String feedback,
@@ -204,48 +261,62 @@ public class ReportController {
                                       @RequestParam(required = false) ReportStatus status,
                                       @RequestParam(required = false) String startDate,
                                       @RequestParam(required = false) String endDate,
-                                      @RequestParam(required = false) String date) {
+                                      @RequestParam(required = false) String date,
+                                      @RequestParam(required = false) String department,
+                                      @RequestParam(required = false) Long employeeId,
+                                      @RequestParam(required = false) String cursor,
+                                      @RequestParam(required = false) Integer limit,
+                                      @RequestParam(defaultValue = "full") String view,
+                                      WebRequest webRequest) {
         try {
             UserAccount user = (UserAccount) authentication.getPrincipal();
-            List<WeeklyReport> reports;
+            // Answer revalidations with 304 before running any list query
+            if (webRequest.checkNotModified(listETag(user, webRequest))) {
+                return null;
+            }
+            
+            ReportFilter filter = new ReportFilter();
+            filter.setStatus(status);
+            filter.setDepartment(department);
+            filter.setEmployeeId(employeeId);
+            if (date != null) {
+                LocalDate d = LocalDate.parse(date);
+                filter.setStartDate(d);
+                filter.setEndDate(d);
+            } else {
+                filter.setStartDate(startDate != null ? LocalDate.parse(startDate) : null);
+                filter.setEndDate(endDate != null ? LocalDate.parse(endDate) : null);
+            }
             
+            // Role scope is applied on top of the request filters and cannot be widened by them
             switch (user.getRole().name()) {
                 case "ADMIN":
-                    if (status != null) {
-                        reports = reportService.getReportsByStatus(status);
-                    } else if (startDate != null && endDate != null) {
-                        reports = reportService.getReportsForDateRange(
-                            LocalDate.parse(startDate), LocalDate.parse(endDate));
-                    } else if (date != null) {
-                        LocalDate d = LocalDate.parse(date);
-                        reports = reportService.getReportsForDateRange(d, d);
-                    } else {
-                        reports = reportService.getAllReports();
-                    }
                     break;
-                    
                 case "SUPERVISOR":
-                    reports = reportService.getReportsBySupervisor(user.getProfile().getId());
+                    filter.setSupervisorId(user.getProfile().getId());
                     break;
-                    
                 case "EMPLOYEE":
-                    reports = reportService.getReportsByEmployee(user.getProfile().getId());
+                    filter.setEmployeeId(user.getProfile().getId());
                     break;
-                    
                 default:
                     Map<String, String> error = new HashMap<>();
                     error.put("error", "Invalid user role");
                     return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
             }
-            // If single date filter provided, apply post-filter for non-admin scopes
-            if (date != null) {
-                LocalDate d = LocalDate.parse(date);
-                reports = reports.stream()
-                        .filter(r -> d.equals(r.getWeekStartDate()))
-                        .collect(Collectors.toList());
+            
+            // view=summary omits the narrative bodies; use GET /reports/{id} for the detail
+            boolean summary = "summary".equalsIgnoreCase(view);
+            Object body;
+            if (cursor != null || limit != null) {
+                body = summary
+                        ? reportService.getReportSummaryPage(filter, cursor, limit)
+                        : reportService.getReportsPage(filter, cursor, limit);
+            } else {
+                body = summary
+                        ? reportService.getReportSummaries(filter)
+                        : reportService.getReportViews(filter);
             }
-            List<WeeklyReportView> views = reports.stream().map(this::toView).collect(Collectors.toList());
-            return ResponseEntity.ok(views);
+            return ResponseEntity.ok().cacheControl(REVALIDATE).body(body);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -253,43 +324,88 @@ public class ReportController {
         }
     }
     
+    // List-level ETag: the version counters of the caller's scope and of the profiles shown in it
+    // (one primary-key lookup), qualified by the request parameters, normalised so their order does not matter
+    private String listETag(UserAccount user, WebRequest webRequest) {
+        String scope;
+        switch (user.getRole().name()) {
+            case "SUPERVISOR":
+                scope = ReportListVersions.supervisorScope(user.getProfile().getId());
+                break;
+            case "EMPLOYEE":
+                scope = ReportListVersions.employeeScope(user.getProfile().getId());
+                break;
+            default:
+                scope = ReportListVersions.ALL;
+        }
+        String version = reportListVersions.current(scope, ReportListVersions.PROFILES);
+        StringBuilder query = new StringBuilder();
+        new TreeMap<>(webRequest.getParameterMap()).forEach((name, values) ->
+                query.append(name).append('=').append(String.join(",", values)).append('&'));
+        String queryHash = DigestUtils.md5DigestAsHex(query.toString().getBytes(StandardCharsets.UTF_8));
+        return "\"l-" + scope + "-" + version + "-" + queryHash.substring(0, 12) + "\"";
+    }
+    
+    private boolean canView(UserAccount user, Long employeeId, Long supervisorId) {
+        switch (user.getRole().name()) {
+            case "ADMIN":
+                return true;
+            case "SUPERVISOR":
+                return supervisorId != null && supervisorId.equals(user.getProfile().getId());
+            case "EMPLOYEE":
+                return employeeId.equals(user.getProfile().getId());
+            default:
+                return false;
+        }
+    }
+    
     @GetMapping("/{reportId}")
-    public ResponseEntity<?> getReportById(@PathVariable Long reportId, Authentication authentication) {
+    public ResponseEntity<?> getReportById(@PathVariable Long reportId, Authentication authentication,
+                                         WebRequest webRequest) {
         try {
             UserAccount user = (UserAccount) authentication.getPrincipal();
-            Optional<WeeklyReport> report = reportService.getReportById(reportId);
+            Optional<ReportVersion> version = reportService.getReportVersion(reportId);
             
-            if (report.isPresent()) {
-                WeeklyReport reportEntity = report.get();
-                
-                // Check permissions
-                boolean canView = false;
-                switch (user.getRole().name()) {
-                    case "ADMIN":
-                        canView = true;
-                        break;
-                    case "SUPERVISOR":
-                        canView = reportEntity.getEmployee().getSupervisor() != null &&
-                                 reportEntity.getEmployee().getSupervisor().getId().equals(user.getProfile().getId());
-                        break;
-                    case "EMPLOYEE":
-                        canView = reportEntity.getEmployee().getId().equals(user.getProfile().getId());
-                        break;
-                }
-                
-                if (canView) {
-                    WeeklyReportView view = toView(reportEntity);
-                    return ResponseEntity.ok(view);
-                } else {
-                    Map<String, String> error = new HashMap<>();
-                    error.put("error", "You don't have permission to view this report");
-                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
-                }
-            } else {
+            if (version.isEmpty()) {
                 Map<String, String> error = new HashMap<>();
                 error.put("error", "Report not found");
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
             }
+            
+            // Check permissions
+            if (!canView(user, version.get().getEmployeeId(), version.get().getSupervisorId())) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "You don't have permission to view this report");
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+            }
+            
+            // Unchanged since the client's copy: 304 without loading or serializing the report
+            if (webRequest.checkNotModified(version.get().getETag(), version.get().getLastModified())) {
+                return null;
+            }
+            
+            Optional<WeeklyReportView> view = reportService.getReportView(version.get());
+            if (view.isEmpty()) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "Report not found");
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+            }
+            return ResponseEntity.ok().cacheControl(REVALIDATE).body(view.get());
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+    
+    @GetMapping("/{reportId}/revisions")
+    public ResponseEntity<?> getReportRevisions(@PathVariable Long reportId, Authentication authentication) {
+        try {
+            ResponseEntity<?> denied = checkRevisionAccess(reportId, authentication);
+            if (denied != null) {
+                return denied;
+            }
+            return ResponseEntity.ok(revisionService.listRevisions(reportId));
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -297,6 +413,49 @@ public class ReportController {
         }
     }
     
+    @GetMapping("/{reportId}/revisions/{revision}")
+    public ResponseEntity<?> getReportRevision(@PathVariable Long reportId, @PathVariable int revision,
+                                             Authentication authentication) {
+        try {
+            ResponseEntity<?> denied = checkRevisionAccess(reportId, authentication);
+            if (denied != null) {
+                return denied;
+            }
+            Map<String, String> fields = revisionService.getRevision(reportId, revision);
+            if (fields == null) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "Revision not found");
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+            }
+            Map<String, Object> response = new HashMap<>();
+            response.put("reportId", reportId);
+            response.put("revision", revision);
+            response.put("fields", fields);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+    
+    // Revisions are visible to whoever may view the report itself
+    private ResponseEntity<?> checkRevisionAccess(Long reportId, Authentication authentication) {
+        UserAccount user = (UserAccount) authentication.getPrincipal();
+        Optional<ReportVersion> version = reportService.getReportVersion(reportId);
+        if (version.isEmpty()) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Report not found");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        }
+        if (!canView(user, version.get().getEmployeeId(), version.get().getSupervisorId())) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "You don't have permission to view this report");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+        }
+        return null;
+    }
+    
     @DeleteMapping("/{reportId}")
     public ResponseEntity<?> deleteReport(@PathVariable Long reportId, Authentication authentication) {
         try {
@@ -327,90 +486,172 @@ public class ReportController {
         }
     }
     
-    @GetMapping("/current-week")
-    public ResponseEntity<?> getCurrentWeekReports(Authentication authentication) {
+    @GetMapping("/search")
+    public ResponseEntity<?> searchReports(Authentication authentication,
+                                         @RequestParam String q,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer limit) {
         try {
             UserAccount user = (UserAccount) authentication.getPrincipal();
-            if (user.getRole().name().equals("ADMIN") || user.getRole().name().equals("SUPERVISOR")) {
-                List<WeeklyReport> reports = reportService.getReportsForCurrentWeek();
-                List<WeeklyReportView> views = reports.stream().map(this::toView).collect(Collectors.toList());
-                return ResponseEntity.ok(views);
-            } else {
+            if (q.isBlank()) {
                 Map<String, String> error = new HashMap<>();
-                error.put("error", "Only admins and supervisors can view current week reports");
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+                error.put("error", "Search query is required");
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
             }
+            CursorPage<ReportSearchHit> page;
+            switch (user.getRole().name()) {
+                case "ADMIN":
+                    page = reportService.searchReports(q, null, null, cursor, limit);
+                    break;
+                case "SUPERVISOR":
+                    page = reportService.searchReports(q, null, user.getProfile().getId(), cursor, limit);
+                    break;
+                case "EMPLOYEE":
+                    page = reportService.searchReports(q, user.getProfile().getId(), null, cursor, limit);
+                    break;
+                default:
+                    Map<String, String> error = new HashMap<>();
+                    error.put("error", "Invalid user role");
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+            }
+            return ResponseEntity.ok(page);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
         }
     }
-
-    private WeeklyReportView toView(WeeklyReport reportEntity) {
-        WeeklyReportView view = new WeeklyReportView();
-        view.setId(reportEntity.getId());
-        view.setWeekStartDate(reportEntity.getWeekStartDate());
-        view.setWeekEndDate(reportEntity.getWeekEndDate());
-        view.setStatus(reportEntity.getStatus());
-        view.setCreatedAt(reportEntity.getCreatedAt());
-        view.setSubmittedAt(reportEntity.getSubmittedAt());
-        view.setApprovedAt(reportEntity.getApprovedAt());
-        view.setRejectedAt(reportEntity.getRejectedAt());
-        view.setSupervisorFeedback(reportEntity.getSupervisorFeedback());
-        view.setAccomplishments(reportEntity.getAccomplishments());
-        view.setChallenges(reportEntity.getChallenges());
-        view.setNextWeekGoals(reportEntity.getNextWeekGoals());
-        view.setAdditionalNotes(reportEntity.getAdditionalNotes());
-        String empName = null;
-        if (reportEntity.getEmployee() != null) {
-            if (reportEntity.getEmployee().getUserAccount() != null) {
-                empName = reportEntity.getEmployee().getUserAccount().getUsername();
-                if (empName == null || empName.isBlank()) {
-                    String email = reportEntity.getEmployee().getUserAccount().getEmail();
-                    if (email != null && !email.isBlank()) {
-                        empName = email.split("@")[0];
-                    }
-                }
+    
+    @GetMapping("/export")
+    public ResponseEntity<?> exportReports(Authentication authentication,
+                                         @RequestParam(defaultValue = "ndjson") String format,
+                                         @RequestParam(required = false) ReportStatus status,
+                                         @RequestParam(required = false) String startDate,
+                                         @RequestParam(required = false) String endDate,
+                                         @RequestParam(required = false) String date) {
+        try {
+            UserAccount user = (UserAccount) authentication.getPrincipal();
+            if (!format.equalsIgnoreCase("ndjson") && !format.equalsIgnoreCase("csv")) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "Unsupported export format: " + format);
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
             }
-            if (empName == null || empName.isBlank()) {
-                // fallback to full name from profile
-                try { empName = reportEntity.getEmployee().getFullName(); } catch (Exception ignored) {}
+            Long employeeId = null;
+            Long supervisorId = null;
+            switch (user.getRole().name()) {
+                case "ADMIN":
+                    break;
+                case "SUPERVISOR":
+                    supervisorId = user.getProfile().getId();
+                    break;
+                case "EMPLOYEE":
+                    employeeId = user.getProfile().getId();
+                    break;
+                default:
+                    Map<String, String> error = new HashMap<>();
+                    error.put("error", "Invalid user role");
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
             }
-            if (empName == null || empName.isBlank()) {
-                empName = "User " + reportEntity.getEmployee().getId();
+            LocalDate from = startDate != null ? LocalDate.parse(startDate) : null;
+            LocalDate to = endDate != null ? LocalDate.parse(endDate) : null;
+            if (date != null) {
+                from = LocalDate.parse(date);
+                to = from;
             }
-        }
 
-        String supName = null;
-        if (reportEntity.getEmployee() != null && reportEntity.getEmployee().getSupervisor() != null) {
-            if (reportEntity.getEmployee().getSupervisor().getUserAccount() != null) {
-                supName = reportEntity.getEmployee().getSupervisor().getUserAccount().getUsername();
-                if (supName == null || supName.isBlank()) {
-                    String email = reportEntity.getEmployee().getSupervisor().getUserAccount().getEmail();
-                    if (email != null && !email.isBlank()) {
-                        supName = email.split("@")[0];
-                    }
-                }
+            final Long scopeEmployeeId = employeeId;
+            final Long scopeSupervisorId = supervisorId;
+            final LocalDate rangeStart = from;
+            final LocalDate rangeEnd = to;
+            StreamingResponseBody body = out -> reportService.exportReports(
+                    format, scopeEmployeeId, scopeSupervisorId, status, rangeStart, rangeEnd, out);
+
+            boolean csv = format.equalsIgnoreCase("csv");
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(csv ? new MediaType("text", "csv") : new MediaType("application", "x-ndjson"));
+            headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=reports." + (csv ? "csv" : "ndjson"));
+            return new ResponseEntity<>(body, headers, HttpStatus.OK);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+    
+    @GetMapping("/stats")
+    public ResponseEntity<?> getReportStats(Authentication authentication,
+                                          @RequestParam(defaultValue = "12") int weeks) {
+        try {
+            UserAccount user = (UserAccount) authentication.getPrincipal();
+            Map<String, Object> stats;
+            switch (user.getRole().name()) {
+                case "ADMIN":
+                    stats = reportService.getReportStats(null, null, weeks);
+                    break;
+                case "SUPERVISOR":
+                    stats = reportService.getReportStats(null, user.getProfile().getId(), weeks);
+                    break;
+                case "EMPLOYEE":
+                    stats = reportService.getReportStats(user.getProfile().getId(), null, weeks);
+                    break;
+                default:
+                    Map<String, String> error = new HashMap<>();
+                    error.put("error", "Invalid user role");
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
             }
-            if (supName == null || supName.isBlank()) {
-                try { supName = reportEntity.getEmployee().getSupervisor().getFullName(); } catch (Exception ignored) {}
+            return ResponseEntity.ok(stats);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+    
+    @GetMapping("/compliance")
+    public ResponseEntity<?> getCompliance(Authentication authentication,
+                                         @RequestParam(required = false) String week) {
+        try {
+            UserAccount user = (UserAccount) authentication.getPrincipal();
+            LocalDate weekStart = week != null ? LocalDate.parse(week) : reportService.getCurrentWeekStart();
+            List<Map<String, Object>> rows;
+            if (user.getRole().name().equals("ADMIN")) {
+                rows = complianceService.getCompliance(weekStart, null);
+            } else if (user.getRole().name().equals("SUPERVISOR")) {
+                rows = complianceService.getCompliance(weekStart, user.getProfile().getId());
+            } else {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "Only admins and supervisors can view compliance");
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
             }
-            if (supName == null || supName.isBlank()) {
-                supName = "Supervisor " + reportEntity.getEmployee().getSupervisor().getId();
+            return ResponseEntity.ok(rows);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+    
+    @GetMapping("/current-week")
+    public ResponseEntity<?> getCurrentWeekReports(Authentication authentication, WebRequest webRequest) {
+        try {
+            UserAccount user = (UserAccount) authentication.getPrincipal();
+            if (user.getRole().name().equals("ADMIN") || user.getRole().name().equals("SUPERVISOR")) {
+                String etag = "\"cw-" + LocalDate.now() + "-"
+                        + reportListVersions.current(ReportListVersions.ALL, ReportListVersions.PROFILES) + "\"";
+                if (webRequest.checkNotModified(etag)) {
+                    return null;
+                }
+                List<WeeklyReportView> views = reportService.getReportViewsForCurrentWeek();
+                return ResponseEntity.ok().cacheControl(REVALIDATE).body(views);
+            } else {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "Only admins and supervisors can view current week reports");
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
             }
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
         }
-        view.setEmployeeUsername(empName);
-        view.setSupervisorUsername(supName);
-        // Also expose display names suitable for UI (prefer full name when available)
-        String empDisplay = null;
-        try { if (reportEntity.getEmployee() != null) empDisplay = reportEntity.getEmployee().getFullName(); } catch (Exception ignored) {}
-        if (empDisplay == null || empDisplay.isBlank()) empDisplay = empName;
-        String supDisplay = null;
-        try { if (reportEntity.getEmployee() != null && reportEntity.getEmployee().getSupervisor() != null) supDisplay = reportEntity.getEmployee().getSupervisor().getFullName(); } catch (Exception ignored) {}
-        if (supDisplay == null || supDisplay.isBlank()) supDisplay = supName;
-        view.setEmployeeDisplayName(empDisplay);
-        view.setSupervisorDisplayName(supDisplay);
-        return view;
     }
 }
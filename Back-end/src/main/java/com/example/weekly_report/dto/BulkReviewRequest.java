@@ -0,0 +1,49 @@
+package com.example.weekly_report.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BulkReviewRequest {
+    
+    @NotEmpty(message = "At least one report ID is required")
+    @Size(max = 500, message = "At most 500 reports can be reviewed at once")
+    private List<Long> reportIds;
+    
+    @NotNull(message = "Decision is required")
+    @Pattern(regexp = "APPROVE|REJECT", message = "Decision must be APPROVE or REJECT")
+    private String decision;
+    
+    private String feedback;
+    
+    // Constructors
+    public BulkReviewRequest() {}
+    
+    // Getters and Setters
+    public List<Long> getReportIds() {
+        return reportIds;
+    }
+    
+    public void setReportIds(List<Long> reportIds) {
+        this.reportIds = reportIds;
+    }
+    
+    public String getDecision() {
+        return decision;
+    }
+    
+    public void setDecision(String decision) {
+        this.decision = decision;
+    }
+    
+    public String getFeedback() {
+        return feedback;
+    }
+    
+    public void setFeedback(String feedback) {
+        this.feedback = feedback;
+    }
+}
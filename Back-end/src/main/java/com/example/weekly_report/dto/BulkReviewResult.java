@@ -0,0 +1,26 @@
+package com.example.weekly_report.dto;
+
+/**
+ * Per-report outcome of a bulk review. Outcome is the new status (APPROVED / REJECTED) on
+ * success, otherwise NOT_FOUND, FORBIDDEN, INVALID_STATUS or CONFLICT with a message.
+ */
+public class BulkReviewResult {
+    private Long reportId;
+    private String outcome;
+    private String message;
+
+    public BulkReviewResult() {}
+
+    public BulkReviewResult(Long reportId, String outcome, String message) {
+        this.reportId = reportId;
+        this.outcome = outcome;
+        this.message = message;
+    }
+
+    public Long getReportId() { return reportId; }
+    public void setReportId(Long reportId) { this.reportId = reportId; }
+    public String getOutcome() { return outcome; }
+    public void setOutcome(String outcome) { this.outcome = outcome; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
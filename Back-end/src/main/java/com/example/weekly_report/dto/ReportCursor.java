@@ -0,0 +1,37 @@
+package com.example.weekly_report.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for report listings ordered by (weekStartDate DESC, id DESC).
+ * Encodes the sort key of the last row of a page so the next page can seek past it.
+ */
+public class ReportCursor {
+    private final LocalDate weekStartDate;
+    private final Long id;
+
+    public ReportCursor(LocalDate weekStartDate, Long id) {
+        this.weekStartDate = weekStartDate;
+        this.id = id;
+    }
+
+    public String encode() {
+        String raw = weekStartDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ReportCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            return new ReportCursor(LocalDate.parse(raw.substring(0, sep)), Long.valueOf(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public LocalDate getWeekStartDate() { return weekStartDate; }
+    public Long getId() { return id; }
+}
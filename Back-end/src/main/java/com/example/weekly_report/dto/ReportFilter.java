@@ -0,0 +1,33 @@
+package com.example.weekly_report.dto;
+
+import com.example.weekly_report.entity.ReportStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Filter criteria for report listings. Null fields are not applied. The controller fills
+ * employeeId / supervisorId from the caller's role so scope can never be widened by a parameter.
+ */
+public class ReportFilter {
+    private Long employeeId;
+    private Long supervisorId;
+    private String department;
+    private ReportStatus status;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    public ReportFilter() {}
+
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+    public Long getSupervisorId() { return supervisorId; }
+    public void setSupervisorId(Long supervisorId) { this.supervisorId = supervisorId; }
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
+    public ReportStatus getStatus() { return status; }
+    public void setStatus(ReportStatus status) { this.status = status; }
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+}
@@ -0,0 +1,33 @@
+package com.example.weekly_report.dto;
+
+import com.example.weekly_report.entity.ReportStatus;
+import java.time.LocalDate;
+
+public class ReportSearchHit {
+    private Long id;
+    private LocalDate weekStartDate;
+    private LocalDate weekEndDate;
+    private ReportStatus status;
+    private String employeeUsername;
+    private String employeeDisplayName;
+    private float rank;
+    // HTML-escaped report text; only the <mark> highlights are markup
+    private String snippet;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public LocalDate getWeekStartDate() { return weekStartDate; }
+    public void setWeekStartDate(LocalDate weekStartDate) { this.weekStartDate = weekStartDate; }
+    public LocalDate getWeekEndDate() { return weekEndDate; }
+    public void setWeekEndDate(LocalDate weekEndDate) { this.weekEndDate = weekEndDate; }
+    public ReportStatus getStatus() { return status; }
+    public void setStatus(ReportStatus status) { this.status = status; }
+    public String getEmployeeUsername() { return employeeUsername; }
+    public void setEmployeeUsername(String employeeUsername) { this.employeeUsername = employeeUsername; }
+    public String getEmployeeDisplayName() { return employeeDisplayName; }
+    public void setEmployeeDisplayName(String employeeDisplayName) { this.employeeDisplayName = employeeDisplayName; }
+    public float getRank() { return rank; }
+    public void setRank(float rank) { this.rank = rank; }
+    public String getSnippet() { return snippet; }
+    public void setSnippet(String snippet) { this.snippet = snippet; }
+}
@@ -0,0 +1,52 @@
+package com.example.weekly_report.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Minimal state needed to answer a conditional GET for a single report: who may see it
+ * and when it last changed. Loaded with one indexed lookup, without the report body.
+ * The detail view also renders the employee's and supervisor's names and account fields, so
+ * "last changed" is the latest of the report's and those profiles' and accounts' updated_at.
+ */
+public class ReportVersion {
+    private final Long reportId;
+    private final LocalDateTime updatedAt;
+    private final Long employeeId;
+    private final Long supervisorId;
+
+    public ReportVersion(Long reportId, LocalDateTime reportUpdatedAt,
+                         LocalDateTime employeeUpdatedAt, LocalDateTime employeeAccountUpdatedAt,
+                         LocalDateTime supervisorUpdatedAt, LocalDateTime supervisorAccountUpdatedAt,
+                         Long employeeId, Long supervisorId) {
+        this.reportId = reportId;
+        this.updatedAt = latest(reportUpdatedAt, employeeUpdatedAt, employeeAccountUpdatedAt,
+                supervisorUpdatedAt, supervisorAccountUpdatedAt);
+        this.employeeId = employeeId;
+        this.supervisorId = supervisorId;
+    }
+
+    private static LocalDateTime latest(LocalDateTime... timestamps) {
+        LocalDateTime latest = null;
+        for (LocalDateTime timestamp : timestamps) {
+            if (timestamp != null && (latest == null || timestamp.isAfter(latest))) {
+                latest = timestamp;
+            }
+        }
+        return latest;
+    }
+
+    public String getETag() {
+        // Supervisor is part of the tag because reassignment changes the rendered view
+        return "\"r" + reportId + "-" + Long.toHexString(getLastModified()) + "-" + supervisorId + "\"";
+    }
+
+    public long getLastModified() {
+        return updatedAt != null ? updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0L;
+    }
+
+    public Long getReportId() { return reportId; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public Long getEmployeeId() { return employeeId; }
+    public Long getSupervisorId() { return supervisorId; }
+}
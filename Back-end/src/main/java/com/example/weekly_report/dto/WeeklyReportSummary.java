@@ -0,0 +1,92 @@
+package com.example.weekly_report.dto;
+
+import com.example.weekly_report.entity.ReportStatus;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Report list row without the narrative TEXT fields. Backed by a projection that never reads
+ * those columns; WeeklyReportView extends it with the bodies for detail and full-list responses.
+ * Immutable, so instances can be shared from the report view cache.
+ */
+public class WeeklyReportSummary {
+    private final Long id;
+    private final LocalDate weekStartDate;
+    private final LocalDate weekEndDate;
+    private final ReportStatus status;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime submittedAt;
+    private final LocalDateTime approvedAt;
+    private final LocalDateTime rejectedAt;
+    private final String employeeUsername;
+    private final String supervisorUsername;
+    private final String employeeDisplayName;
+    private final String supervisorDisplayName;
+
+    // Constructor expression target for the summary list queries in WeeklyReportRepository.
+    public WeeklyReportSummary(Long id, LocalDate weekStartDate, LocalDate weekEndDate, ReportStatus status,
+                               LocalDateTime createdAt, LocalDateTime submittedAt, LocalDateTime approvedAt,
+                               LocalDateTime rejectedAt,
+                               Long employeeProfileId, String employeeUsername, String employeeEmail,
+                               String employeeFirstName, String employeeLastName,
+                               Long supervisorProfileId, String supervisorUsername, String supervisorEmail,
+                               String supervisorFirstName, String supervisorLastName) {
+        this.id = id;
+        this.weekStartDate = weekStartDate;
+        this.weekEndDate = weekEndDate;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.submittedAt = submittedAt;
+        this.approvedAt = approvedAt;
+        this.rejectedAt = rejectedAt;
+        if (employeeProfileId != null) {
+            String fullName = employeeFirstName + " " + employeeLastName;
+            this.employeeUsername = resolveName(employeeUsername, employeeEmail, fullName, "User " + employeeProfileId);
+            this.employeeDisplayName = resolveDisplayName(fullName, this.employeeUsername);
+        } else {
+            this.employeeUsername = null;
+            this.employeeDisplayName = null;
+        }
+        if (supervisorProfileId != null) {
+            String fullName = supervisorFirstName + " " + supervisorLastName;
+            this.supervisorUsername = resolveName(supervisorUsername, supervisorEmail, fullName, "Supervisor " + supervisorProfileId);
+            this.supervisorDisplayName = resolveDisplayName(fullName, this.supervisorUsername);
+        } else {
+            this.supervisorUsername = null;
+            this.supervisorDisplayName = null;
+        }
+    }
+
+    // Username, then the local part of the email, then the profile's full name, then a synthetic label.
+    public static String resolveName(String username, String email, String fullName, String fallback) {
+        String name = username;
+        if ((name == null || name.isBlank()) && email != null && !email.isBlank()) {
+            name = email.split("@")[0];
+        }
+        if (name == null || name.isBlank()) {
+            name = fullName;
+        }
+        if (name == null || name.isBlank()) {
+            name = fallback;
+        }
+        return name;
+    }
+
+    // Display names prefer the profile's full name and fall back to the resolved username.
+    public static String resolveDisplayName(String fullName, String resolvedName) {
+        return fullName == null || fullName.isBlank() ? resolvedName : fullName;
+    }
+
+    public Long getId() { return id; }
+    public LocalDate getWeekStartDate() { return weekStartDate; }
+    public LocalDate getWeekEndDate() { return weekEndDate; }
+    public ReportStatus getStatus() { return status; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getSubmittedAt() { return submittedAt; }
+    public LocalDateTime getApprovedAt() { return approvedAt; }
+    public LocalDateTime getRejectedAt() { return rejectedAt; }
+    public String getEmployeeUsername() { return employeeUsername; }
+    public String getSupervisorUsername() { return supervisorUsername; }
+    public String getEmployeeDisplayName() { return employeeDisplayName; }
+    public String getSupervisorDisplayName() { return supervisorDisplayName; }
+}
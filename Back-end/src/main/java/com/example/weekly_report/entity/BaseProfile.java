@@ -8,12 +8,15 @@ import jakarta.validation.constraints.Pattern;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "base_profiles")
+@Table(name = "base_profiles", indexes = {
+    @Index(name = "idx_base_profiles_department", columnList = "department")
+})
 @Inheritance(strategy = InheritanceType.JOINED)
 public abstract class BaseProfile {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "base_profile_seq")
+    @SequenceGenerator(name = "base_profile_seq", sequenceName = "base_profiles_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "first_name", nullable = false)
@@ -1,14 +1,15 @@
 package com.example.weekly_report.entity;
 
 import jakarta.persistence.*;
-import com.fasterxml.jackson.annotation.JsonBackReference;
-import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "employee_profiles")
+@Table(name = "employee_profiles", indexes = {
+    @Index(name = "idx_employee_profiles_supervisor", columnList = "supervisor_id")
+})
 @PrimaryKeyJoinColumn(name = "profile_id")
 public class EmployeeProfile extends BaseProfile {
     
@@ -23,11 +24,12 @@ public class EmployeeProfile extends BaseProfile {
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "supervisor_id")
-    @JsonBackReference
+    @JsonIgnore
     private SupervisorProfile supervisor;
     
     @OneToMany(mappedBy = "employee", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    @JsonManagedReference
+    // Never part of the API; reports are listed through /reports
+    @JsonIgnore
     private List<WeeklyReport> weeklyReports = new ArrayList<>();
     
     // Constructors
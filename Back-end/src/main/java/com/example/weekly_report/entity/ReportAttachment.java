@@ -10,7 +10,8 @@ import java.time.LocalDateTime;
 public class ReportAttachment {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "report_attachment_seq")
+    @SequenceGenerator(name = "report_attachment_seq", sequenceName = "report_attachments_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "original_name", nullable = false)
@@ -0,0 +1,69 @@
+package com.example.weekly_report.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only edit log for a weekly report. Revision 1 and every Nth revision after it hold a
+ * full snapshot of the tracked fields; the revisions in between hold per-field deltas against
+ * their predecessor, so storage grows with the size of each edit rather than the report.
+ */
+@Entity
+@Table(name = "report_revisions", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"report_id", "revision_number"})
+})
+public class ReportRevision {
+
+    public enum Kind { SNAPSHOT, DELTA }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "report_revision_seq")
+    @SequenceGenerator(name = "report_revision_seq", sequenceName = "report_revisions_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "report_id", nullable = false)
+    private Long reportId;
+
+    @Column(name = "revision_number", nullable = false)
+    private Integer revisionNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "kind", nullable = false)
+    private Kind kind;
+
+    // JSON: field -> value for snapshots, field -> {p, s, t} edit for deltas
+    @Column(name = "payload", columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    @Column(name = "changed_fields")
+    private String changedFields;
+
+    @Column(name = "author_profile_id")
+    private Long authorProfileId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public ReportRevision() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getReportId() { return reportId; }
+    public void setReportId(Long reportId) { this.reportId = reportId; }
+    public Integer getRevisionNumber() { return revisionNumber; }
+    public void setRevisionNumber(Integer revisionNumber) { this.revisionNumber = revisionNumber; }
+    public Kind getKind() { return kind; }
+    public void setKind(Kind kind) { this.kind = kind; }
+    public String getPayload() { return payload; }
+    public void setPayload(String payload) { this.payload = payload; }
+    public String getChangedFields() { return changedFields; }
+    public void setChangedFields(String changedFields) { this.changedFields = changedFields; }
+    public Long getAuthorProfileId() { return authorProfileId; }
+    public void setAuthorProfileId(Long authorProfileId) { this.authorProfileId = authorProfileId; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
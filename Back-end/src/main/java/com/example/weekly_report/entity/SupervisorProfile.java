@@ -1,7 +1,7 @@
 package com.example.weekly_report.entity;
 
 import jakarta.persistence.*;
-import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -24,7 +24,7 @@ public class SupervisorProfile extends BaseProfile {
     private Integer maxEmployees = 10;
     
     @OneToMany(mappedBy = "supervisor", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    @JsonManagedReference
+    @JsonIgnore
     private List<EmployeeProfile> supervisedEmployees = new ArrayList<>();
     
     // Constructors
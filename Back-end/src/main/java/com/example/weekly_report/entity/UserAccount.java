@@ -1,6 +1,7 @@
 package com.example.weekly_report.entity;
 
 import jakarta.persistence.*;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -18,7 +19,8 @@ import java.util.List;
 public class UserAccount implements UserDetails {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_account_seq")
+    @SequenceGenerator(name = "user_account_seq", sequenceName = "user_accounts_seq", allocationSize = 50)
     private Long id;
     
     @Column(unique = true, nullable = false)
@@ -49,6 +51,11 @@ public class UserAccount implements UserDetails {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Carried in issued JWTs; bumping it revokes every token issued before
+    @Column(name = "token_version", nullable = false, columnDefinition = "integer default 0")
+    @JsonIgnore
+    private int tokenVersion = 0;
+    
     @OneToOne(mappedBy = "userAccount", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonManagedReference
     private BaseProfile profile;
@@ -154,6 +161,18 @@ public class UserAccount implements UserDetails {
         this.updatedAt = updatedAt;
     }
     
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+    
+    public void setTokenVersion(int tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+    
+    public void revokeTokens() {
+        this.tokenVersion++;
+    }
+    
     public BaseProfile getProfile() {
         return profile;
     }
@@ -0,0 +1,45 @@
+package com.example.weekly_report.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Per-week submission rollup for one (department, supervisor) group. Maintained incrementally
+ * by ComplianceService as reports change state and rebuilt periodically from weekly_reports.
+ */
+@Entity
+@Table(name = "weekly_compliance")
+public class WeeklyCompliance {
+
+    @EmbeddedId
+    private WeeklyComplianceId id;
+
+    @Column(name = "draft_count", nullable = false)
+    private long draftCount;
+
+    @Column(name = "submitted_count", nullable = false)
+    private long submittedCount;
+
+    @Column(name = "approved_count", nullable = false)
+    private long approvedCount;
+
+    @Column(name = "rejected_count", nullable = false)
+    private long rejectedCount;
+
+    public WeeklyCompliance() {}
+
+    public long getReportCount() {
+        return draftCount + submittedCount + approvedCount + rejectedCount;
+    }
+
+    // Getters and Setters
+    public WeeklyComplianceId getId() { return id; }
+    public void setId(WeeklyComplianceId id) { this.id = id; }
+    public long getDraftCount() { return draftCount; }
+    public void setDraftCount(long draftCount) { this.draftCount = draftCount; }
+    public long getSubmittedCount() { return submittedCount; }
+    public void setSubmittedCount(long submittedCount) { this.submittedCount = submittedCount; }
+    public long getApprovedCount() { return approvedCount; }
+    public void setApprovedCount(long approvedCount) { this.approvedCount = approvedCount; }
+    public long getRejectedCount() { return rejectedCount; }
+    public void setRejectedCount(long rejectedCount) { this.rejectedCount = rejectedCount; }
+}
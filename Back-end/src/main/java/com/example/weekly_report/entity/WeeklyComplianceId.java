@@ -0,0 +1,53 @@
+package com.example.weekly_report.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Embeddable
+public class WeeklyComplianceId implements Serializable {
+
+    @Column(name = "week_start_date", nullable = false)
+    private LocalDate weekStartDate;
+
+    // Empty string when the employee has no department (NULLs would defeat the primary key)
+    @Column(name = "department", nullable = false)
+    private String department;
+
+    // 0 when the employee has no supervisor assigned
+    @Column(name = "supervisor_id", nullable = false)
+    private Long supervisorId;
+
+    public WeeklyComplianceId() {}
+
+    public WeeklyComplianceId(LocalDate weekStartDate, String department, Long supervisorId) {
+        this.weekStartDate = weekStartDate;
+        this.department = department;
+        this.supervisorId = supervisorId;
+    }
+
+    public LocalDate getWeekStartDate() { return weekStartDate; }
+    public void setWeekStartDate(LocalDate weekStartDate) { this.weekStartDate = weekStartDate; }
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
+    public Long getSupervisorId() { return supervisorId; }
+    public void setSupervisorId(Long supervisorId) { this.supervisorId = supervisorId; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof WeeklyComplianceId)) return false;
+        WeeklyComplianceId that = (WeeklyComplianceId) o;
+        return Objects.equals(weekStartDate, that.weekStartDate)
+                && Objects.equals(department, that.department)
+                && Objects.equals(supervisorId, that.supervisorId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(weekStartDate, department, supervisorId);
+    }
+}
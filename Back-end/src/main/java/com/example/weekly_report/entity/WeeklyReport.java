@@ -1,25 +1,29 @@
 package com.example.weekly_report.entity;
 
 import jakarta.persistence.*;
-import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
-import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @Entity
 @Table(name = "weekly_reports", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"employee_id", "week_start_date"})
+}, indexes = {
+    @Index(name = "idx_weekly_reports_week_start_id", columnList = "week_start_date DESC, id DESC"),
+    @Index(name = "idx_weekly_reports_status_week_start", columnList = "status, week_start_date DESC")
 })
 public class WeeklyReport {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "weekly_report_seq")
+    @SequenceGenerator(name = "weekly_report_seq", sequenceName = "weekly_reports_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "week_start_date", nullable = false)
@@ -30,18 +34,11 @@ public class WeeklyReport {
     @NotNull(message = "Week end date is required")
     private LocalDate weekEndDate;
     
-    @Column(name = "accomplished_tasks", columnDefinition = "TEXT")
-    @NotBlank(message = "Accomplished tasks are required")
-    private String accomplishedTasks;
-    
-    @Column(name = "challenges_faced", columnDefinition = "TEXT")
-    private String challengesFaced;
-    
-    @Column(name = "next_week_plans", columnDefinition = "TEXT")
-    private String nextWeekPlans;
-    
-    @Column(name = "additional_comments", columnDefinition = "TEXT")
-    private String additionalComments;
+    // Narrative fields live in weekly_report_content; the accessors below delegate to it
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "content_id", unique = true)
+    @JsonIgnore
+    private WeeklyReportContent content;
     
     @Column(name = "hours_worked")
     @Min(value = 0, message = "Hours worked cannot be negative")
@@ -64,9 +61,6 @@ public class WeeklyReport {
     @Column(name = "reviewed_at")
     private LocalDateTime reviewedAt;
     
-    @Column(name = "supervisor_feedback", columnDefinition = "TEXT")
-    private String supervisorFeedback;
-    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
@@ -75,7 +69,7 @@ public class WeeklyReport {
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id", nullable = false)
-    @JsonBackReference
+    @JsonIgnore
     private EmployeeProfile employee;
     
     @OneToMany(mappedBy = "report", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
@@ -94,7 +88,7 @@ public class WeeklyReport {
         this();
         this.weekStartDate = weekStartDate;
         this.weekEndDate = weekEndDate;
-        this.accomplishedTasks = accomplishedTasks;
+        setAccomplishedTasks(accomplishedTasks);
     }
     
     // Business methods
@@ -146,36 +140,56 @@ public class WeeklyReport {
         this.weekEndDate = weekEndDate;
     }
     
+    public WeeklyReportContent getContent() {
+        return content;
+    }
+    
+    public void setContent(WeeklyReportContent content) {
+        this.content = content;
+    }
+    
     public String getAccomplishedTasks() {
-        return accomplishedTasks;
+        return content != null ? content.getAccomplishedTasks() : null;
     }
     
     public void setAccomplishedTasks(String accomplishedTasks) {
-        this.accomplishedTasks = accomplishedTasks;
+        if (!Objects.equals(getAccomplishedTasks(), accomplishedTasks)) {
+            content().setAccomplishedTasks(accomplishedTasks);
+            touch();
+        }
     }
     
     public String getChallengesFaced() {
-        return challengesFaced;
+        return content != null ? content.getChallengesFaced() : null;
     }
     
     public void setChallengesFaced(String challengesFaced) {
-        this.challengesFaced = challengesFaced;
+        if (!Objects.equals(getChallengesFaced(), challengesFaced)) {
+            content().setChallengesFaced(challengesFaced);
+            touch();
+        }
     }
     
     public String getNextWeekPlans() {
-        return nextWeekPlans;
+        return content != null ? content.getNextWeekPlans() : null;
     }
     
     public void setNextWeekPlans(String nextWeekPlans) {
-        this.nextWeekPlans = nextWeekPlans;
+        if (!Objects.equals(getNextWeekPlans(), nextWeekPlans)) {
+            content().setNextWeekPlans(nextWeekPlans);
+            touch();
+        }
     }
     
     public String getAdditionalComments() {
-        return additionalComments;
+        return content != null ? content.getAdditionalComments() : null;
     }
     
     public void setAdditionalComments(String additionalComments) {
-        this.additionalComments = additionalComments;
+        if (!Objects.equals(getAdditionalComments(), additionalComments)) {
+            content().setAdditionalComments(additionalComments);
+            touch();
+        }
     }
     
     public Double getHoursWorked() {
@@ -227,11 +241,14 @@ public class WeeklyReport {
     }
     
     public String getSupervisorFeedback() {
-        return supervisorFeedback;
+        return content != null ? content.getSupervisorFeedback() : null;
     }
     
     public void setSupervisorFeedback(String supervisorFeedback) {
-        this.supervisorFeedback = supervisorFeedback;
+        if (!Objects.equals(getSupervisorFeedback(), supervisorFeedback)) {
+            content().setSupervisorFeedback(supervisorFeedback);
+            touch();
+        }
     }
     
     public LocalDateTime getCreatedAt() {
@@ -259,10 +276,22 @@ public class WeeklyReport {
     }
     
     // Alias getters for frontend compatibility
-    public String getAccomplishments() { return accomplishedTasks; }
-    public String getChallenges() { return challengesFaced; }
-    public String getNextWeekGoals() { return nextWeekPlans; }
-    public String getAdditionalNotes() { return additionalComments; }
+    public String getAccomplishments() { return getAccomplishedTasks(); }
+    public String getChallenges() { return getChallengesFaced(); }
+    public String getNextWeekGoals() { return getNextWeekPlans(); }
+    public String getAdditionalNotes() { return getAdditionalComments(); }
+    
+    private WeeklyReportContent content() {
+        if (content == null) {
+            content = new WeeklyReportContent();
+        }
+        return content;
+    }
+    
+    // Content lives in another row, so mark this one dirty to keep updatedAt (and ETags) moving
+    private void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
     
     @PreUpdate
     public void preUpdate() {
@@ -0,0 +1,50 @@
+package com.example.weekly_report.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Narrative bodies of a weekly report, kept out of weekly_reports so status and date scans stay
+ * on narrow rows. Loaded lazily through WeeklyReport.content only when a report is opened.
+ */
+@Entity
+@Table(name = "weekly_report_content")
+public class WeeklyReportContent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "weekly_report_content_seq")
+    @SequenceGenerator(name = "weekly_report_content_seq", sequenceName = "weekly_report_content_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "accomplished_tasks", columnDefinition = "TEXT")
+    @NotBlank(message = "Accomplished tasks are required")
+    private String accomplishedTasks;
+
+    @Column(name = "challenges_faced", columnDefinition = "TEXT")
+    private String challengesFaced;
+
+    @Column(name = "next_week_plans", columnDefinition = "TEXT")
+    private String nextWeekPlans;
+
+    @Column(name = "additional_comments", columnDefinition = "TEXT")
+    private String additionalComments;
+
+    @Column(name = "supervisor_feedback", columnDefinition = "TEXT")
+    private String supervisorFeedback;
+
+    public WeeklyReportContent() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getAccomplishedTasks() { return accomplishedTasks; }
+    public void setAccomplishedTasks(String accomplishedTasks) { this.accomplishedTasks = accomplishedTasks; }
+    public String getChallengesFaced() { return challengesFaced; }
+    public void setChallengesFaced(String challengesFaced) { this.challengesFaced = challengesFaced; }
+    public String getNextWeekPlans() { return nextWeekPlans; }
+    public void setNextWeekPlans(String nextWeekPlans) { this.nextWeekPlans = nextWeekPlans; }
+    public String getAdditionalComments() { return additionalComments; }
+    public void setAdditionalComments(String additionalComments) { this.additionalComments = additionalComments; }
+    public String getSupervisorFeedback() { return supervisorFeedback; }
+    public void setSupervisorFeedback(String supervisorFeedback) { this.supervisorFeedback = supervisorFeedback; }
+}
@@ -22,5 +22,10 @@ public interface EmployeeProfileRepository extends JpaRepository<EmployeeProfile
     
     @Query("SELECT e FROM EmployeeProfile e WHERE e.supervisor.id = :supervisorId")
     List<EmployeeProfile> findBySupervisorProfileId(@Param("supervisorId") Long supervisorId);
+
+    // Rows of [department, supervisorProfileId, headcount]; department and supervisor may be null
+    @Query("SELECT e.department, s.id, COUNT(e) FROM EmployeeProfile e LEFT JOIN e.supervisor s " +
+           "WHERE (:supervisorId IS NULL OR s.id = :supervisorId) GROUP BY e.department, s.id")
+    List<Object[]> countHeadcountByGroup(@Param("supervisorId") Long supervisorId);
 }
 
@@ -0,0 +1,43 @@
+package com.example.weekly_report.repository;
+
+import com.example.weekly_report.entity.ReportRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ReportRevisionRepository extends JpaRepository<ReportRevision, Long> {
+
+    @Query("SELECT COALESCE(MAX(r.revisionNumber), 0) FROM ReportRevision r WHERE r.reportId = :reportId")
+    int findLatestRevisionNumber(@Param("reportId") Long reportId);
+
+    // Nearest checkpoint at or before the requested revision
+    @Query("SELECT MAX(r.revisionNumber) FROM ReportRevision r WHERE r.reportId = :reportId " +
+           "AND r.kind = :kind AND r.revisionNumber <= :revision")
+    Integer findKindAtOrBefore(@Param("reportId") Long reportId, @Param("revision") int revision,
+                               @Param("kind") ReportRevision.Kind kind);
+
+    @Query("SELECT r FROM ReportRevision r WHERE r.reportId = :reportId " +
+           "AND r.revisionNumber BETWEEN :fromRevision AND :toRevision ORDER BY r.revisionNumber")
+    List<ReportRevision> findRange(@Param("reportId") Long reportId,
+                                   @Param("fromRevision") int fromRevision,
+                                   @Param("toRevision") int toRevision);
+
+    // Listing metadata only; payloads are not read
+    @Query("SELECT r.revisionNumber, r.kind, r.changedFields, r.authorProfileId, r.createdAt " +
+           "FROM ReportRevision r WHERE r.reportId = :reportId ORDER BY r.revisionNumber DESC")
+    List<Object[]> findSummaries(@Param("reportId") Long reportId);
+
+    @Modifying
+    @Query("DELETE FROM ReportRevision r WHERE r.reportId = :reportId")
+    void deleteByReportId(@Param("reportId") Long reportId);
+
+    @Modifying
+    @Query("DELETE FROM ReportRevision r WHERE r.reportId IN " +
+           "(SELECT wr.id FROM WeeklyReport wr WHERE wr.employee.id = :employeeId)")
+    void deleteByEmployeeId(@Param("employeeId") Long employeeId);
+}
@@ -0,0 +1,80 @@
+package com.example.weekly_report.repository;
+
+import com.example.weekly_report.dto.ReportCursor;
+import com.example.weekly_report.dto.ReportFilter;
+import com.example.weekly_report.entity.EmployeeProfile;
+import com.example.weekly_report.entity.ReportStatus;
+import com.example.weekly_report.entity.WeeklyReport;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+/**
+ * Composable predicates over WeeklyReport. Each returns null when its argument is null, which
+ * Specification.where/and treat as "no restriction", so a filter only contributes what is set.
+ */
+public final class ReportSpecifications {
+
+    private ReportSpecifications() {}
+
+    public static Specification<WeeklyReport> matching(ReportFilter filter) {
+        return Specification.where(forEmployee(filter.getEmployeeId()))
+                .and(forSupervisor(filter.getSupervisorId()))
+                .and(inDepartment(filter.getDepartment()))
+                .and(hasStatus(filter.getStatus()))
+                .and(weekStartFrom(filter.getStartDate()))
+                .and(weekStartUntil(filter.getEndDate()));
+    }
+
+    public static Specification<WeeklyReport> forEmployee(Long employeeId) {
+        if (employeeId == null) return null;
+        return (root, query, cb) -> cb.equal(employee(root).get("id"), employeeId);
+    }
+
+    public static Specification<WeeklyReport> forSupervisor(Long supervisorId) {
+        if (supervisorId == null) return null;
+        return (root, query, cb) -> cb.equal(employee(root).get("supervisor").get("id"), supervisorId);
+    }
+
+    public static Specification<WeeklyReport> inDepartment(String department) {
+        if (department == null || department.isBlank()) return null;
+        return (root, query, cb) -> cb.equal(employee(root).get("department"), department);
+    }
+
+    public static Specification<WeeklyReport> hasStatus(ReportStatus status) {
+        if (status == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<WeeklyReport> weekStartFrom(LocalDate startDate) {
+        if (startDate == null) return null;
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("weekStartDate"), startDate);
+    }
+
+    public static Specification<WeeklyReport> weekStartUntil(LocalDate endDate) {
+        if (endDate == null) return null;
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("weekStartDate"), endDate);
+    }
+
+    // Keyset predicate on (week_start_date DESC, id DESC): seek strictly past the last row of the previous page
+    public static Specification<WeeklyReport> after(ReportCursor cursor) {
+        if (cursor == null) return null;
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("weekStartDate"), cursor.getWeekStartDate()),
+                cb.and(cb.equal(root.get("weekStartDate"), cursor.getWeekStartDate()),
+                       cb.lessThan(root.get("id"), cursor.getId())));
+    }
+
+    // Reuse the employee join if the query already has one, so predicates don't add a second join
+    @SuppressWarnings("unchecked")
+    static Join<WeeklyReport, EmployeeProfile> employee(Root<WeeklyReport> root) {
+        for (Join<WeeklyReport, ?> join : root.getJoins()) {
+            if ("employee".equals(join.getAttribute().getName())) {
+                return (Join<WeeklyReport, EmployeeProfile>) join;
+            }
+        }
+        return root.join("employee");
+    }
+}
@@ -2,6 +2,7 @@ package com.example.weekly_report.repository;
 
 import com.example.weekly_report.entity.UserAccount;
 import com.example.weekly_report.entity.UserRole;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,8 +14,19 @@ import java.util.Optional;
 @Repository
 public interface UserAccountRepository extends JpaRepository<UserAccount, Long> {
     
+    // Accounts are serialized together with their profile, so load it in the same statement
+    @Override
+    @EntityGraph(attributePaths = {"profile"})
+    List<UserAccount> findAll();
+    
+    @Override
+    @EntityGraph(attributePaths = {"profile"})
+    Optional<UserAccount> findById(Long id);
+    
+    @EntityGraph(attributePaths = {"profile"})
     Optional<UserAccount> findByUsername(String username);
     
+    @EntityGraph(attributePaths = {"profile"})
     Optional<UserAccount> findByEmail(String email);
     
     List<UserAccount> findByRole(UserRole role);
@@ -27,4 +39,16 @@ public interface UserAccountRepository extends JpaRepository<UserAccount, Long>
     boolean existsByUsername(String username);
     
     boolean existsByEmail(String email);
+    
+    long countByEnabled(boolean enabled);
+    
+    @Query("SELECT u.role, COUNT(u) FROM UserAccount u GROUP BY u.role")
+    List<Object[]> countGroupedByRole();
+    
+    @Query("SELECT u.tokenVersion FROM UserAccount u WHERE u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+    
+    // Cheap liveness probe for health checks; touches no table.
+    @Query(value = "SELECT 1", nativeQuery = true)
+    Integer ping();
 }
@@ -0,0 +1,66 @@
+package com.example.weekly_report.repository;
+
+import com.example.weekly_report.entity.WeeklyCompliance;
+import com.example.weekly_report.entity.WeeklyComplianceId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface WeeklyComplianceRepository extends JpaRepository<WeeklyCompliance, WeeklyComplianceId> {
+
+    @Query("SELECT c FROM WeeklyCompliance c WHERE c.id.weekStartDate = :weekStartDate")
+    List<WeeklyCompliance> findByWeek(@Param("weekStartDate") LocalDate weekStartDate);
+
+    @Query("SELECT c FROM WeeklyCompliance c WHERE c.id.weekStartDate = :weekStartDate AND c.id.supervisorId = :supervisorId")
+    List<WeeklyCompliance> findByWeekAndSupervisor(@Param("weekStartDate") LocalDate weekStartDate,
+                                                   @Param("supervisorId") Long supervisorId);
+
+    // Atomic delta upsert; concurrent transitions on the same group serialise on the row lock.
+    @Modifying
+    @Query(value = "INSERT INTO weekly_compliance (week_start_date, department, supervisor_id, " +
+            "draft_count, submitted_count, approved_count, rejected_count) " +
+            "VALUES (:weekStartDate, :department, :supervisorId, :draft, :submitted, :approved, :rejected) " +
+            "ON CONFLICT (week_start_date, department, supervisor_id) DO UPDATE SET " +
+            "draft_count = weekly_compliance.draft_count + EXCLUDED.draft_count, " +
+            "submitted_count = weekly_compliance.submitted_count + EXCLUDED.submitted_count, " +
+            "approved_count = weekly_compliance.approved_count + EXCLUDED.approved_count, " +
+            "rejected_count = weekly_compliance.rejected_count + EXCLUDED.rejected_count",
+            nativeQuery = true)
+    void applyDelta(@Param("weekStartDate") LocalDate weekStartDate,
+                    @Param("department") String department,
+                    @Param("supervisorId") Long supervisorId,
+                    @Param("draft") long draft,
+                    @Param("submitted") long submitted,
+                    @Param("approved") long approved,
+                    @Param("rejected") long rejected);
+
+    // Blocks incremental upserts for the duration of a rebuild so no delta is lost or double counted.
+    @Modifying
+    @Query(value = "LOCK TABLE weekly_compliance IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @Query(value = "DELETE FROM weekly_compliance", nativeQuery = true)
+    void deleteAllRows();
+
+    @Modifying
+    @Query(value = "INSERT INTO weekly_compliance (week_start_date, department, supervisor_id, " +
+            "draft_count, submitted_count, approved_count, rejected_count) " +
+            "SELECT wr.week_start_date, COALESCE(bp.department, ''), COALESCE(ep.supervisor_id, 0), " +
+            "COUNT(*) FILTER (WHERE wr.status = 'DRAFT'), " +
+            "COUNT(*) FILTER (WHERE wr.status = 'SUBMITTED'), " +
+            "COUNT(*) FILTER (WHERE wr.status = 'APPROVED'), " +
+            "COUNT(*) FILTER (WHERE wr.status = 'REJECTED') " +
+            "FROM weekly_reports wr " +
+            "JOIN employee_profiles ep ON ep.profile_id = wr.employee_id " +
+            "JOIN base_profiles bp ON bp.id = wr.employee_id " +
+            "GROUP BY wr.week_start_date, COALESCE(bp.department, ''), COALESCE(ep.supervisor_id, 0)",
+            nativeQuery = true)
+    int insertFromReports();
+}
@@ -1,27 +1,60 @@
 package com.example.weekly_report.repository;
 
+import com.example.weekly_report.dto.ReportVersion;
+import com.example.weekly_report.dto.WeeklyReportView;
 import com.example.weekly_report.entity.ReportStatus;
 import com.example.weekly_report.entity.WeeklyReport;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface WeeklyReportRepository extends JpaRepository<WeeklyReport, Long> {
+public interface WeeklyReportRepository extends JpaRepository<WeeklyReport, Long>,
+        JpaSpecificationExecutor<WeeklyReport>, WeeklyReportRepositoryCustom {
     
+    String SNIPPET_START = "\uE000";
+    String SNIPPET_STOP = "\uE001";
+    
+    // Single-report fetch plan: everything the JSON body, PDF and access checks read, in one statement.
+    // UserAccount.profile is the inverse side of a one-to-one and always resolved on load, so it is
+    // fetched explicitly too; as an @EntityGraph path it is skipped as circular and costs a select per account.
+    @Override
+    @Query("SELECT wr FROM WeeklyReport wr LEFT JOIN FETCH wr.content LEFT JOIN FETCH wr.attachments " +
+           "LEFT JOIN FETCH wr.employee e LEFT JOIN FETCH e.userAccount ua LEFT JOIN FETCH ua.profile " +
+           "LEFT JOIN FETCH e.supervisor s LEFT JOIN FETCH s.userAccount sua LEFT JOIN FETCH sua.profile " +
+           "WHERE wr.id = :id")
+    Optional<WeeklyReport> findById(@Param("id") Long id);
+    
+    @EntityGraph(attributePaths = {"content"})
     List<WeeklyReport> findByEmployeeIdOrderByWeekStartDateDesc(Long employeeId);
     
+    @EntityGraph(attributePaths = {"content"})
     List<WeeklyReport> findByEmployeeSupervisorIdOrderByWeekStartDateDesc(Long supervisorId);
     
+    @EntityGraph(attributePaths = {"content"})
     List<WeeklyReport> findByStatusOrderByWeekStartDateDesc(ReportStatus status);
     
+    @EntityGraph(attributePaths = {"content"})
     List<WeeklyReport> findAllByOrderByWeekStartDateDesc();
     
+    @EntityGraph(attributePaths = {"content"})
     List<WeeklyReport> findByWeekStartDateBetween(LocalDate startDate, LocalDate endDate);
     
     Optional<WeeklyReport> findByEmployeeIdAndWeekStartDate(Long employeeId, LocalDate weekStartDate);
@@ -36,4 +69,147 @@ public interface WeeklyReportRepository extends JpaRepository<WeeklyReport, Long
     List<WeeklyReport> findByDateRangeAndStatus(@Param("startDate") LocalDate startDate, 
                                                @Param("endDate") LocalDate endDate, 
                                                @Param("status") ReportStatus status);
+    
+    // Joined projection used by the list endpoints: one statement per list, no lazy profile/account loads.
+    String VIEW_SELECT = "SELECT new com.example.weekly_report.dto.WeeklyReportView(" +
+            "wr.id, wr.weekStartDate, wr.weekEndDate, wr.status, wr.createdAt, wr.submittedAt, " +
+            "wr.approvedAt, wr.rejectedAt, c.supervisorFeedback, c.accomplishedTasks, c.challengesFaced, " +
+            "c.nextWeekPlans, c.additionalComments, " +
+            "e.id, eu.username, eu.email, e.firstName, e.lastName, " +
+            "s.id, su.username, su.email, s.firstName, s.lastName) " +
+            "FROM WeeklyReport wr LEFT JOIN wr.content c JOIN wr.employee e LEFT JOIN e.userAccount eu " +
+            "LEFT JOIN e.supervisor s LEFT JOIN s.userAccount su ";
+    
+    String VIEW_ORDER = " ORDER BY wr.weekStartDate DESC, wr.id DESC";
+    
+    @Query(VIEW_SELECT + VIEW_ORDER)
+    List<WeeklyReportView> findAllViews();
+    
+    @Query(VIEW_SELECT + "WHERE wr.weekStartDate BETWEEN :startDate AND :endDate" + VIEW_ORDER)
+    List<WeeklyReportView> findViewsByWeekStartDateBetween(@Param("startDate") LocalDate startDate,
+                                                           @Param("endDate") LocalDate endDate);
+    
+    // Aggregates for /reports/stats. A null scope parameter means "no restriction" (admin view).
+    String STATS_SCOPE = "(:employeeId IS NULL OR wr.employee.id = :employeeId) " +
+            "AND (:supervisorId IS NULL OR wr.employee.supervisor.id = :supervisorId)";
+    
+    @Query("SELECT wr.status, COUNT(wr) FROM WeeklyReport wr WHERE " + STATS_SCOPE + " GROUP BY wr.status")
+    List<Object[]> countByStatus(@Param("employeeId") Long employeeId,
+                                 @Param("supervisorId") Long supervisorId);
+    
+    @Query("SELECT wr.weekStartDate, COUNT(wr) FROM WeeklyReport wr WHERE " + STATS_SCOPE +
+           " GROUP BY wr.weekStartDate ORDER BY wr.weekStartDate DESC")
+    List<Object[]> countByWeek(@Param("employeeId") Long employeeId,
+                               @Param("supervisorId") Long supervisorId,
+                               Pageable pageable);
+    
+    @Query("SELECT AVG(wr.hoursWorked) FROM WeeklyReport wr WHERE " + STATS_SCOPE)
+    Double averageHoursWorked(@Param("employeeId") Long employeeId,
+                              @Param("supervisorId") Long supervisorId);
+    
+    @Query("SELECT s.id, su.username, COUNT(wr) FROM WeeklyReport wr JOIN wr.employee e " +
+           "JOIN e.supervisor s JOIN s.userAccount su " +
+           "WHERE wr.status = com.example.weekly_report.entity.ReportStatus.SUBMITTED AND " + STATS_SCOPE +
+           " GROUP BY s.id, su.username ORDER BY COUNT(wr) DESC")
+    List<Object[]> countPendingBySupervisor(@Param("employeeId") Long employeeId,
+                                            @Param("supervisorId") Long supervisorId);
+
+    // Rows of [weekStartDate, status, count] for one employee; used to move compliance counts
+    @Query("SELECT wr.weekStartDate, wr.status, COUNT(wr) FROM WeeklyReport wr " +
+           "WHERE wr.employee.id = :employeeId GROUP BY wr.weekStartDate, wr.status")
+    List<Object[]> countByWeekAndStatusForEmployee(@Param("employeeId") Long employeeId);
+    
+    // Export stream: forward-only cursor with a JDBC fetch size so rows are pulled in batches
+    // rather than materialised up front. Null parameters disable the corresponding filter.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(VIEW_SELECT + "WHERE (:employeeId IS NULL OR e.id = :employeeId) " +
+           "AND (:supervisorId IS NULL OR s.id = :supervisorId) " +
+           "AND (:status IS NULL OR wr.status = :status) " +
+           "AND (:startDate IS NULL OR wr.weekStartDate >= :startDate) " +
+           "AND (:endDate IS NULL OR wr.weekStartDate <= :endDate)" + VIEW_ORDER)
+    Stream<WeeklyReportView> streamViewsForExport(@Param("employeeId") Long employeeId,
+                                                  @Param("supervisorId") Long supervisorId,
+                                                  @Param("status") ReportStatus status,
+                                                  @Param("startDate") LocalDate startDate,
+                                                  @Param("endDate") LocalDate endDate);
+    
+    // Ranked full-text search over the generated search_vector column on weekly_report_content
+    // (see ReportSearchInitializer).
+    // The page of ids is ranked and limited first; snippets are only highlighted for that page.
+    // ts_headline runs over the raw report text, so it marks matches with the private-use characters
+    // below instead of HTML; ReportService escapes the snippet and only then turns them into <mark>.
+    @Query(value = "WITH q AS (SELECT websearch_to_tsquery('english', :query) AS tsq), " +
+            "page AS (" +
+            "  SELECT r.id, ts_rank(c.search_vector, q.tsq) AS rank " +
+            "  FROM weekly_report_content c JOIN weekly_reports r ON r.content_id = c.id " +
+            "  JOIN employee_profiles ep ON ep.profile_id = r.employee_id CROSS JOIN q " +
+            "  WHERE c.search_vector @@ q.tsq " +
+            "  AND (CAST(:employeeId AS bigint) IS NULL OR r.employee_id = CAST(:employeeId AS bigint)) " +
+            "  AND (CAST(:supervisorId AS bigint) IS NULL OR ep.supervisor_id = CAST(:supervisorId AS bigint)) " +
+            "  AND (CAST(:cursorRank AS real) IS NULL " +
+            "       OR ts_rank(c.search_vector, q.tsq) < CAST(:cursorRank AS real) " +
+            "       OR (ts_rank(c.search_vector, q.tsq) = CAST(:cursorRank AS real) AND r.id < CAST(:cursorId AS bigint))) " +
+            "  ORDER BY rank DESC, r.id DESC " +
+            "  LIMIT :limit" +
+            ") " +
+            "SELECT wr.id, wr.week_start_date, wr.week_end_date, wr.status, " +
+            "ua.username, ua.email, bp.first_name, bp.last_name, page.rank, " +
+            "ts_headline('english', concat_ws(' ... ', c.accomplished_tasks, c.challenges_faced, " +
+            "c.next_week_plans, c.additional_comments, c.supervisor_feedback), q.tsq, " +
+            "'StartSel=" + SNIPPET_START + ", StopSel=" + SNIPPET_STOP + ", MaxFragments=2, MaxWords=25, MinWords=8') AS snippet " +
+            "FROM page JOIN weekly_reports wr ON wr.id = page.id " +
+            "LEFT JOIN weekly_report_content c ON c.id = wr.content_id " +
+            "JOIN base_profiles bp ON bp.id = wr.employee_id " +
+            "LEFT JOIN user_accounts ua ON ua.id = bp.user_account_id CROSS JOIN q " +
+            "ORDER BY page.rank DESC, page.id DESC",
+            nativeQuery = true)
+    List<Object[]> searchReports(@Param("query") String query,
+                                 @Param("employeeId") Long employeeId,
+                                 @Param("supervisorId") Long supervisorId,
+                                 @Param("cursorRank") Float cursorRank,
+                                 @Param("cursorId") Long cursorId,
+                                 @Param("limit") int limit);
+    
+    // Bulk review: everything needed to authorise, transition and notify, for all ids in one statement.
+    // Rows of [id, status, weekStartDate, employeeDepartment, supervisorProfileId,
+    //          employeeAccountId, employeeUsername, employeeProfileId]
+    @Query("SELECT wr.id, wr.status, wr.weekStartDate, e.department, s.id, eu.id, eu.username, e.id " +
+           "FROM WeeklyReport wr JOIN wr.employee e LEFT JOIN e.userAccount eu LEFT JOIN e.supervisor s " +
+           "WHERE wr.id IN :ids")
+    List<Object[]> findReviewRows(@Param("ids") Collection<Long> ids);
+    
+    // Locks the ids that are still in the given status. A report reviewed concurrently drops out once
+    // the other transaction commits, because the status is re-checked after the row lock is acquired.
+    @Query(value = "SELECT id FROM weekly_reports WHERE id IN (:ids) AND status = :status FOR UPDATE",
+           nativeQuery = true)
+    List<Long> lockByIdsAndStatus(@Param("ids") Collection<Long> ids, @Param("status") String status);
+    
+    // Only pass ids locked by lockByIdsAndStatus in the same transaction.
+    @Modifying
+    @Query("UPDATE WeeklyReport wr SET wr.status = :newStatus, wr.reviewedAt = :now, wr.updatedAt = :now " +
+           "WHERE wr.id IN :ids")
+    int updateReviewed(@Param("ids") Collection<Long> ids,
+                       @Param("newStatus") ReportStatus newStatus,
+                       @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE WeeklyReportContent c SET c.supervisorFeedback = :feedback " +
+           "WHERE c.id IN (SELECT wr.content.id FROM WeeklyReport wr WHERE wr.id IN :ids)")
+    int updateFeedback(@Param("ids") Collection<Long> ids, @Param("feedback") String feedback);
+    
+    // Serializes concurrent edits of one report; revision numbering depends on it
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT wr FROM WeeklyReport wr WHERE wr.id = :id")
+    Optional<WeeklyReport> findByIdForUpdate(@Param("id") Long id);
+    
+    // Conditional GET support for a single report; list versions live in ReportListVersions.
+    @Query("SELECT new com.example.weekly_report.dto.ReportVersion(wr.id, wr.updatedAt, " +
+           "e.updatedAt, eu.updatedAt, s.updatedAt, su.updatedAt, e.id, s.id) " +
+           "FROM WeeklyReport wr JOIN wr.employee e LEFT JOIN e.userAccount eu " +
+           "LEFT JOIN e.supervisor s LEFT JOIN s.userAccount su WHERE wr.id = :id")
+    Optional<ReportVersion> findVersionById(@Param("id") Long id);
 }
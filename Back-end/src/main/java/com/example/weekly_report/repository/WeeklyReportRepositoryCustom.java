@@ -0,0 +1,23 @@
+package com.example.weekly_report.repository;
+
+import com.example.weekly_report.dto.WeeklyReportSummary;
+import com.example.weekly_report.dto.WeeklyReportView;
+import com.example.weekly_report.entity.WeeklyReport;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface WeeklyReportRepositoryCustom {
+
+    /**
+     * Runs the joined WeeklyReportView projection with an arbitrary predicate, ordered by
+     * (weekStartDate DESC, id DESC). A non-positive limit returns every matching row.
+     */
+    List<WeeklyReportView> findViews(Specification<WeeklyReport> spec, int limit);
+
+    /**
+     * Same as {@link #findViews} but selects only metadata and names; the narrative TEXT
+     * columns are never read.
+     */
+    List<WeeklyReportSummary> findSummaries(Specification<WeeklyReport> spec, int limit);
+}
@@ -0,0 +1,75 @@
+package com.example.weekly_report.repository;
+
+import com.example.weekly_report.dto.WeeklyReportSummary;
+import com.example.weekly_report.dto.WeeklyReportView;
+import com.example.weekly_report.entity.BaseProfile;
+import com.example.weekly_report.entity.EmployeeProfile;
+import com.example.weekly_report.entity.SupervisorProfile;
+import com.example.weekly_report.entity.UserAccount;
+import com.example.weekly_report.entity.WeeklyReport;
+import com.example.weekly_report.entity.WeeklyReportContent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class WeeklyReportRepositoryCustomImpl implements WeeklyReportRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Criteria equivalent of WeeklyReportRepository.VIEW_SELECT
+    @Override
+    public List<WeeklyReportView> findViews(Specification<WeeklyReport> spec, int limit) {
+        return find(WeeklyReportView.class, true, spec, limit);
+    }
+
+    @Override
+    public List<WeeklyReportSummary> findSummaries(Specification<WeeklyReport> spec, int limit) {
+        return find(WeeklyReportSummary.class, false, spec, limit);
+    }
+
+    private <T> List<T> find(Class<T> type, boolean withContent, Specification<WeeklyReport> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(type);
+        Root<WeeklyReport> wr = query.from(WeeklyReport.class);
+        Join<WeeklyReport, EmployeeProfile> e = wr.join("employee");
+        Join<BaseProfile, UserAccount> eu = e.join("userAccount", JoinType.LEFT);
+        Join<EmployeeProfile, SupervisorProfile> s = e.join("supervisor", JoinType.LEFT);
+        Join<BaseProfile, UserAccount> su = s.join("userAccount", JoinType.LEFT);
+
+        // Argument order must match the WeeklyReportView / WeeklyReportSummary constructors
+        List<Selection<?>> columns = new ArrayList<>(Arrays.asList(
+                wr.get("id"), wr.get("weekStartDate"), wr.get("weekEndDate"), wr.get("status"),
+                wr.get("createdAt"), wr.get("submittedAt"), wr.get("approvedAt"), wr.get("rejectedAt")));
+        if (withContent) {
+            Join<WeeklyReport, WeeklyReportContent> c = wr.join("content", JoinType.LEFT);
+            columns.addAll(Arrays.asList(
+                    c.get("supervisorFeedback"), c.get("accomplishedTasks"), c.get("challengesFaced"),
+                    c.get("nextWeekPlans"), c.get("additionalComments")));
+        }
+        columns.addAll(Arrays.asList(
+                e.get("id"), eu.get("username"), eu.get("email"), e.get("firstName"), e.get("lastName"),
+                s.get("id"), su.get("username"), su.get("email"), s.get("firstName"), s.get("lastName")));
+        query.select(cb.construct(type, columns.toArray(new Selection<?>[0])));
+
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(wr, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(cb.desc(wr.get("weekStartDate")), cb.desc(wr.get("id")));
+
+        TypedQuery<T> typed = entityManager.createQuery(query);
+        if (limit > 0) {
+            typed.setMaxResults(limit);
+        }
+        return typed.getResultList();
+    }
+}
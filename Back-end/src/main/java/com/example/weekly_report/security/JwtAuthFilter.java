@@ -1,10 +1,13 @@
 package com.example.weekly_report.security;
 
+import com.example.weekly_report.entity.UserAccount;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -27,6 +30,16 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
     
+    @Autowired
+    private PrincipalCache principalCache;
+    
+    @Autowired
+    private TokenVersionCache tokenVersionCache;
+    
+    // Opt-in: build the principal from signed claims instead of loading the account
+    @Value("${app.security.stateless-auth:false}")
+    private boolean statelessAuth;
+    
     @Autowired
     private HandlerExceptionResolver handlerExceptionResolver;
     
@@ -46,14 +59,18 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         
         try {
             final String jwt = authHeader.substring(7);
-            final String userEmail = jwtService.extractUsername(jwt);
+            // Parsed and verified once; the claims are reused for the checks below
+            final Claims claims = jwtService.verify(jwt);
+            final String userEmail = claims.getSubject();
             
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
             
             if (userEmail != null && authentication == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+                UserDetails userDetails = statelessAuth && jwtService.hasIdentityClaims(claims)
+                        ? statelessPrincipal(claims)
+                        : loadedPrincipal(claims, userEmail);
                 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (userDetails != null) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -70,4 +87,24 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             handlerExceptionResolver.resolveException(request, response, null, exception);
         }
     }
+    
+    // Disabling, deleting or changing the password of an account bumps its token version
+    private UserDetails statelessPrincipal(Claims claims) {
+        if (!tokenVersionCache.isCurrent(jwtService.getUserId(claims), jwtService.getTokenVersion(claims))) {
+            return null;
+        }
+        return jwtService.toPrincipal(claims);
+    }
+    
+    private UserDetails loadedPrincipal(Claims claims, String username) {
+        UserDetails userDetails = principalCache.get(username, userDetailsService::loadUserByUsername);
+        if (!userDetails.isEnabled() || !jwtService.isTokenValid(claims, userDetails)) {
+            return null;
+        }
+        if (userDetails instanceof UserAccount account && claims.get(JwtService.CLAIM_TOKEN_VERSION) != null
+                && account.getTokenVersion() != jwtService.getTokenVersion(claims)) {
+            return null;
+        }
+        return userDetails;
+    }
 }
\ No newline at end of file
@@ -1,10 +1,17 @@
 package com.example.weekly_report.security;
 
+import com.example.weekly_report.entity.*;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -13,28 +20,94 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
     
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_PROFILE_ID = "pid";
+    public static final String CLAIM_TOKEN_VERSION = "tv";
+    
     @Value("${jwt.secret}")
     private String secretKey;
     
     @Value("${jwt.expiration}")
     private Long jwtExpiration;
     
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+    
+    // Built once: decoding the secret and assembling the parser used to happen on every call
+    private Key signInKey;
+    private JwtParser jwtParser;
+    
+    // Tokens whose signature was already checked, each entry expiring together with its token
+    private Cache<String, Claims> verifiedTokens;
+    
+    @PostConstruct
+    void init() {
+        signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        jwtParser = Jwts.parserBuilder().setSigningKey(signInKey).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String token, Claims claims, long currentTime) {
+                        return untilExpiry(claims);
+                    }
+                    
+                    @Override
+                    public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+                        return untilExpiry(claims);
+                    }
+                    
+                    @Override
+                    public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+    
+    /**
+     * Verifies signature and expiry once and returns every claim of the token. Throws a
+     * JwtException for tokens that are malformed, tampered with or expired.
+     */
+    public Claims verify(String token) {
+        Claims claims = verifiedTokens.getIfPresent(token);
+        if (claims == null) {
+            claims = extractAllClaims(token);
+            verifiedTokens.put(token, claims);
+        } else if (isExpired(claims)) {
+            verifiedTokens.invalidate(token);
+            throw new ExpiredJwtException(null, claims, "JWT expired at " + claims.getExpiration());
+        }
+        return claims;
+    }
+    
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
     
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = verify(token);
         return claimsResolver.apply(claims);
     }
     
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof UserAccount account) {
+            claims.put(CLAIM_USER_ID, account.getId());
+            claims.put(CLAIM_ROLE, account.getRole().name());
+            claims.put(CLAIM_TOKEN_VERSION, account.getTokenVersion());
+            if (account.getProfile() != null) {
+                claims.put(CLAIM_PROFILE_ID, account.getProfile().getId());
+            }
+        }
+        return generateToken(claims, userDetails);
     }
     
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
@@ -52,34 +125,66 @@ public class JwtService {
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
     
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(verify(token), userDetails);
     }
     
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    // For callers that already hold verified claims, so the token is not parsed again
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !isExpired(claims);
     }
     
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public boolean hasIdentityClaims(Claims claims) {
+        return claims.get(CLAIM_USER_ID) != null && claims.get(CLAIM_ROLE) != null && claims.get(CLAIM_TOKEN_VERSION) != null;
+    }
+    
+    public Long getUserId(Claims claims) {
+        return ((Number) claims.get(CLAIM_USER_ID)).longValue();
+    }
+    
+    public int getTokenVersion(Claims claims) {
+        return ((Number) claims.get(CLAIM_TOKEN_VERSION)).intValue();
+    }
+    
+    /**
+     * Principal rebuilt from verified claims only: id, username, role and a profile carrying just
+     * its id, which is all the controllers read. Never attached to a persistence context.
+     */
+    public UserAccount toPrincipal(Claims claims) {
+        UserAccount account = new UserAccount();
+        account.setId(getUserId(claims));
+        account.setUsername(claims.getSubject());
+        account.setRole(UserRole.valueOf(claims.get(CLAIM_ROLE, String.class)));
+        account.setTokenVersion(getTokenVersion(claims));
+        Object profileId = claims.get(CLAIM_PROFILE_ID);
+        if (profileId != null) {
+            BaseProfile profile = switch (account.getRole()) {
+                case ADMIN -> new AdminProfile();
+                case SUPERVISOR -> new SupervisorProfile();
+                case EMPLOYEE -> new EmployeeProfile();
+            };
+            profile.setId(((Number) profileId).longValue());
+            account.setProfile(profile);
+        }
+        return account;
+    }
+    
+    private boolean isExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
+    }
+    
+    private long untilExpiry(Claims claims) {
+        long millis = claims.getExpiration().getTime() - System.currentTimeMillis();
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(millis, 0));
     }
     
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
-    
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
 }
\ No newline at end of file
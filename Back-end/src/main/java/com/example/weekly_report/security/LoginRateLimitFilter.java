@@ -0,0 +1,183 @@
+package com.example.weekly_report.security;
+
+import com.example.weekly_report.exception.ApiExceptionHandler.ErrorResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles POST /auth/login and /auth/verify-2fa before they reach AuthController, so a rejected
+ * attempt costs a bucket lookup instead of a BCrypt hash and a 2FA email. Login is keyed by the
+ * username in the JSON body (buffered and replayed to the controller), verify-2fa by its userId
+ * parameter; both are also keyed by client IP. Behind a load balancer the client IP comes from
+ * X-Forwarded-For, resolved by Tomcat for trusted proxies only (server.forward-headers-strategy).
+ */
+@Component
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String LOGIN_PATH = "/auth/login";
+    private static final String VERIFY_PATH = "/auth/verify-2fa";
+    // Login bodies are a username and a password
+    private static final int MAX_BUFFERED_BODY = 16 * 1024;
+
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.security.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getServletPath();
+        return !enabled || !"POST".equals(request.getMethod())
+                || !(LOGIN_PATH.equals(path) || VERIFY_PATH.equals(path));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String endpoint = request.getServletPath();
+        String account;
+        if (LOGIN_PATH.equals(endpoint)) {
+            byte[] body = request.getInputStream().readNBytes(MAX_BUFFERED_BODY + 1);
+            if (body.length > MAX_BUFFERED_BODY) {
+                // Padding the body must not be a way around the per-account limit
+                reject(response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body too large", null);
+                return;
+            }
+            request = new BufferedBodyRequest(request, body);
+            account = loginAccount(body);
+        } else {
+            String userId = request.getParameter("userId");
+            account = userId != null ? "2fa:" + userId.trim() : null;
+        }
+
+        long wait = loginRateLimiter.tryAcquire(request.getRemoteAddr(), account);
+        if (wait > 0) {
+            meterRegistry.counter("auth.rate_limited", "endpoint", endpoint).increment();
+            long retryAfter = Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, "Too many sign-in attempts, please retry later", retryAfter);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+
+        if (response.getStatus() == HttpStatus.UNAUTHORIZED.value()) {
+            loginRateLimiter.recordFailure(account);
+        }
+    }
+
+    private String loginAccount(byte[] body) {
+        try {
+            JsonNode username = objectMapper.readTree(body).path("username");
+            return username.isTextual() ? "login:" + username.asText().trim().toLowerCase(Locale.ROOT) : null;
+        } catch (IOException e) {
+            // Malformed JSON is rejected by the controller; it still counts against the IP
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message, Long retryAfter) throws IOException {
+        ErrorResponse errorResponse = new ErrorResponse(
+            status.value(),
+            status.getReasonPhrase(),
+            message,
+            LocalDateTime.now()
+        );
+        response.setStatus(status.value());
+        if (retryAfter != null) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    // Keeps the body readable by the controller after the filter has looked at it
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The body is already in memory, so it is available and complete right away
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
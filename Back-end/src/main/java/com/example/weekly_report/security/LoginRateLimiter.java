@@ -0,0 +1,127 @@
+package com.example.weekly_report.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Token buckets for the sign-in endpoints, one per client IP and one per account. Buckets live in
+ * a bounded Caffeine cache: lookups are spread over its hash-striped segments and each bucket only
+ * locks itself, so unrelated clients never contend. Idle buckets expire (a bucket left alone that
+ * long is full again anyway) and the least useful ones are evicted past app.security.rate-limit.max-keys,
+ * so a spray of random usernames cannot grow memory without bound.
+ *
+ * Failed attempts drain extra tokens from the account bucket, so guessing runs out of budget
+ * faster than a user who mistypes once and then signs in.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final Cache<String, TokenBucket> buckets;
+    private final Ticker ticker;
+    private final Limit ipLimit;
+    private final Limit accountLimit;
+    private final int failurePenalty;
+
+    @Autowired
+    public LoginRateLimiter(MeterRegistry meterRegistry,
+                            @Value("${app.security.rate-limit.ip.capacity:30}") int ipCapacity,
+                            @Value("${app.security.rate-limit.ip.refill:2s}") Duration ipRefill,
+                            @Value("${app.security.rate-limit.account.capacity:5}") int accountCapacity,
+                            @Value("${app.security.rate-limit.account.refill:30s}") Duration accountRefill,
+                            @Value("${app.security.rate-limit.failure-penalty:1}") int failurePenalty,
+                            @Value("${app.security.rate-limit.max-keys:100000}") long maxKeys,
+                            @Value("${app.security.rate-limit.idle-timeout:15m}") Duration idleTimeout) {
+        this(meterRegistry, new Limit(ipCapacity, ipRefill), new Limit(accountCapacity, accountRefill),
+                failurePenalty, maxKeys, idleTimeout, Ticker.systemTicker());
+    }
+
+    LoginRateLimiter(MeterRegistry meterRegistry, Limit ipLimit, Limit accountLimit, int failurePenalty,
+                     long maxKeys, Duration idleTimeout, Ticker ticker) {
+        this.ipLimit = ipLimit;
+        this.accountLimit = accountLimit;
+        this.failurePenalty = failurePenalty;
+        this.ticker = ticker;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleTimeout)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "loginRateLimits");
+    }
+
+    /**
+     * Takes a token from the IP bucket and, when the account is known, from the account bucket.
+     * Returns 0 when the attempt may proceed, otherwise the nanoseconds until it would be allowed.
+     */
+    public long tryAcquire(String ip, String account) {
+        long now = ticker.read();
+        long wait = bucket("ip:" + ip, ipLimit).tryConsume(now);
+        if (wait > 0 || account == null) {
+            return wait;
+        }
+        return bucket("account:" + account, accountLimit).tryConsume(now);
+    }
+
+    public void recordFailure(String account) {
+        if (account != null && failurePenalty > 0) {
+            bucket("account:" + account, accountLimit).drain(ticker.read(), failurePenalty);
+        }
+    }
+
+    long trackedKeys() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
+    private TokenBucket bucket(String key, Limit limit) {
+        return buckets.get(key, k -> new TokenBucket(limit, ticker.read()));
+    }
+
+    record Limit(int capacity, Duration refill) {
+    }
+
+    // Starts full; one token comes back every refill period up to capacity
+    static final class TokenBucket {
+        private final int capacity;
+        private final long refillNanos;
+        private double tokens;
+        private long updatedAt;
+
+        TokenBucket(Limit limit, long now) {
+            this.capacity = limit.capacity();
+            this.refillNanos = Math.max(1L, limit.refill().toNanos());
+            this.tokens = capacity;
+            this.updatedAt = now;
+        }
+
+        synchronized long tryConsume(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return Math.max(1L, (long) ((1 - tokens) * refillNanos));
+        }
+
+        synchronized void drain(long now, int amount) {
+            refill(now);
+            tokens = Math.max(0, tokens - amount);
+        }
+
+        private void refill(long now) {
+            if (now > updatedAt) {
+                tokens = Math.min(capacity, tokens + (double) (now - updatedAt) / refillNanos);
+                updatedAt = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.weekly_report.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Short-lived cache of authenticated principals, keyed by username, so JwtAuthFilter does not
+ * query user_accounts on every request. Entries are the detached accounts (with their profile)
+ * loaded by the UserDetailsService and are treated as read-only snapshots.
+ *
+ * UserService evicts an entry whenever the account changes, but only on the node that made the
+ * change. Every other node keeps serving its cached snapshot until the TTL expires, so the TTL is
+ * the bound on cross-node revocation: a user disabled, deleted or demoted on one node stays
+ * authenticated with the old state elsewhere for up to app.security.principal-cache.ttl. The same
+ * bound applies to changes made outside the application. Hit/miss counts are published as
+ * cache.gets{cache=principals}.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, UserDetails> principals;
+
+    public PrincipalCache(MeterRegistry meterRegistry,
+                          @Value("${app.security.principal-cache.ttl:60s}") Duration ttl,
+                          @Value("${app.security.principal-cache.max-size:10000}") long maxSize) {
+        this.principals = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "principals");
+    }
+
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        return principals.get(username, loader);
+    }
+
+    /**
+     * Drops the cached principal now and again after the surrounding transaction commits, so a
+     * request racing the change cannot re-cache the old state.
+     */
+    public void invalidate(String username) {
+        principals.invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    principals.invalidate(username);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.weekly_report.security;
+
+import com.example.weekly_report.repository.UserAccountRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Current token version per user id, used to accept or reject stateless tokens. Entries are
+ * refreshed in the background once older than app.security.token-version.refresh, so requests
+ * keep being served from memory while the refresh runs. Changes made through UserService are
+ * applied to this node immediately after commit; other nodes pick them up on the next refresh.
+ */
+@Component
+public class TokenVersionCache {
+
+    private static final int REVOKED = -1;
+
+    private final LoadingCache<Long, Integer> versions;
+
+    public TokenVersionCache(UserAccountRepository userAccountRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.security.token-version.refresh:30s}") Duration refresh) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .refreshAfterWrite(refresh)
+                .expireAfterAccess(Duration.ofHours(1))
+                .recordStats()
+                .build(userId -> userAccountRepository.findTokenVersionById(userId).orElse(REVOKED));
+        CaffeineCacheMetrics.monitor(meterRegistry, versions, "tokenVersions");
+    }
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        return versions.get(userId) == tokenVersion;
+    }
+
+    public void update(Long userId, int tokenVersion) {
+        afterCommit(() -> versions.put(userId, tokenVersion));
+    }
+
+    public void revoke(Long userId) {
+        afterCommit(() -> versions.put(userId, REVOKED));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -29,6 +29,7 @@ public class AttachmentService {
     @Value("${app.storage.attachments:storage/attachments}")
     private String attachmentsRoot;
     
+    @Transactional(readOnly = true)
     public List<ReportAttachment> listAttachments(Long reportId) {
         return attachmentRepository.findByReportIdOrderByCreatedAtDesc(reportId);
     }
@@ -51,12 +52,14 @@ public class AttachmentService {
         return attachmentRepository.save(att);
     }
     
+    @Transactional(readOnly = true)
     public byte[] getAttachmentData(Long attachmentId) throws IOException {
         ReportAttachment att = attachmentRepository.findById(attachmentId)
                 .orElseThrow(() -> new RuntimeException("Attachment not found"));
         return Files.readAllBytes(Paths.get(att.getStoragePath()));
     }
     
+    @Transactional(readOnly = true)
     public ReportAttachment getAttachment(Long attachmentId) {
         return attachmentRepository.findById(attachmentId)
                 .orElseThrow(() -> new RuntimeException("Attachment not found"));
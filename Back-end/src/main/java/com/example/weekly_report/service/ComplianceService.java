@@ -0,0 +1,211 @@
+package com.example.weekly_report.service;
+
+import com.example.weekly_report.entity.*;
+import com.example.weekly_report.repository.EmployeeProfileRepository;
+import com.example.weekly_report.repository.WeeklyComplianceRepository;
+import com.example.weekly_report.repository.WeeklyReportRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the weekly_compliance rollup. Every report state change applies a signed delta to
+ * the (week, department, supervisor) row inside the caller's transaction, so the rollup commits
+ * or rolls back together with the report itself. A nightly rebuild recomputes it from scratch.
+ */
+@Service
+@Transactional
+public class ComplianceService {
+
+    private static final Logger log = LoggerFactory.getLogger(ComplianceService.class);
+
+    @Autowired
+    private WeeklyComplianceRepository weeklyComplianceRepository;
+
+    @Autowired
+    private WeeklyReportRepository weeklyReportRepository;
+
+    @Autowired
+    private EmployeeProfileRepository employeeProfileRepository;
+
+    public void recordAdded(WeeklyReport report) {
+        apply(report.getWeekStartDate(), report.getEmployee(), report.getStatus(), 1);
+    }
+
+    public void recordRemoved(WeeklyReport report) {
+        apply(report.getWeekStartDate(), report.getEmployee(), report.getStatus(), -1);
+    }
+
+    public void recordTransition(WeeklyReport report, ReportStatus from, ReportStatus to) {
+        if (from == to) {
+            return;
+        }
+        long[] delta = new long[ReportStatus.values().length];
+        delta[from.ordinal()] -= 1;
+        delta[to.ordinal()] += 1;
+        apply(report.getWeekStartDate(), departmentKey(report.getEmployee().getDepartment()),
+              supervisorKey(report.getEmployee().getSupervisor()), delta);
+    }
+
+    /**
+     * Bulk variant of recordTransition. Each element is [weekStartDate, department, supervisorProfileId]
+     * for one transitioned report; reports in the same group are applied as a single delta.
+     */
+    public void recordTransitions(List<Object[]> reports, ReportStatus from, ReportStatus to) {
+        if (from == to) {
+            return;
+        }
+        Map<WeeklyComplianceId, Long> counts = new LinkedHashMap<>();
+        for (Object[] report : reports) {
+            WeeklyComplianceId key = new WeeklyComplianceId((LocalDate) report[0],
+                    departmentKey((String) report[1]), report[2] == null ? 0L : (Long) report[2]);
+            counts.merge(key, 1L, Long::sum);
+        }
+        for (Map.Entry<WeeklyComplianceId, Long> entry : counts.entrySet()) {
+            long[] delta = new long[ReportStatus.values().length];
+            delta[from.ordinal()] -= entry.getValue();
+            delta[to.ordinal()] += entry.getValue();
+            WeeklyComplianceId key = entry.getKey();
+            apply(key.getWeekStartDate(), key.getDepartment(), key.getSupervisorId(), delta);
+        }
+    }
+
+    public void recordWeekChange(WeeklyReport report, LocalDate previousWeekStart) {
+        if (previousWeekStart == null || previousWeekStart.equals(report.getWeekStartDate())) {
+            return;
+        }
+        apply(previousWeekStart, report.getEmployee(), report.getStatus(), -1);
+        apply(report.getWeekStartDate(), report.getEmployee(), report.getStatus(), 1);
+    }
+
+    /**
+     * Moves all of an employee's report counts to a new (department, supervisor) group.
+     * Must be called before the profile itself is modified.
+     */
+    public void reassignEmployee(EmployeeProfile employee, String newDepartment, SupervisorProfile newSupervisor) {
+        String oldDept = departmentKey(employee.getDepartment());
+        Long oldSup = supervisorKey(employee.getSupervisor());
+        String newDept = departmentKey(newDepartment);
+        Long newSup = supervisorKey(newSupervisor);
+        if (oldDept.equals(newDept) && oldSup.equals(newSup)) {
+            return;
+        }
+        moveEmployeeCounts(employee.getId(), oldDept, oldSup, -1);
+        moveEmployeeCounts(employee.getId(), newDept, newSup, 1);
+    }
+
+    /** Removes an employee's report counts; call before the profile and its reports are deleted. */
+    public void removeEmployee(EmployeeProfile employee) {
+        moveEmployeeCounts(employee.getId(), departmentKey(employee.getDepartment()),
+                supervisorKey(employee.getSupervisor()), -1);
+    }
+
+    /**
+     * Returns one row per (department, supervisor) group for the given week, with the missing
+     * count derived from the group's current headcount. Pass a supervisor id to scope to one team.
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getCompliance(LocalDate weekStartDate, Long supervisorId) {
+        List<WeeklyCompliance> rows = supervisorId == null
+                ? weeklyComplianceRepository.findByWeek(weekStartDate)
+                : weeklyComplianceRepository.findByWeekAndSupervisor(weekStartDate, supervisorId);
+
+        Map<WeeklyComplianceId, Long> headcounts = new LinkedHashMap<>();
+        for (Object[] row : employeeProfileRepository.countHeadcountByGroup(supervisorId)) {
+            WeeklyComplianceId key = new WeeklyComplianceId(weekStartDate,
+                    departmentKey((String) row[0]), row[1] == null ? 0L : (Long) row[1]);
+            headcounts.merge(key, (Long) row[2], Long::sum);
+        }
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (WeeklyCompliance row : rows) {
+            result.add(toMap(row.getId(), row, headcounts.remove(row.getId())));
+        }
+        // Groups with employees but no reports at all this week
+        for (Map.Entry<WeeklyComplianceId, Long> entry : headcounts.entrySet()) {
+            result.add(toMap(entry.getKey(), null, entry.getValue()));
+        }
+        return result;
+    }
+
+    /**
+     * Recomputes the whole rollup from weekly_reports. Incremental updates block on the table
+     * lock until the rebuild commits, so deltas from in-flight transactions are applied on top.
+     */
+    @Scheduled(cron = "${app.compliance.rebuild-cron:0 30 2 * * *}")
+    public int rebuild() {
+        weeklyComplianceRepository.lockForRebuild();
+        weeklyComplianceRepository.deleteAllRows();
+        return weeklyComplianceRepository.insertFromReports();
+    }
+
+    // Backfill on first start after the table is introduced
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (weeklyComplianceRepository.count() == 0 && weeklyReportRepository.count() > 0) {
+            int rows = rebuild();
+            log.info("Backfilled weekly_compliance with {} rows", rows);
+        }
+    }
+
+    private void moveEmployeeCounts(Long employeeId, String department, Long supervisorId, int sign) {
+        for (Object[] row : weeklyReportRepository.countByWeekAndStatusForEmployee(employeeId)) {
+            long[] delta = new long[ReportStatus.values().length];
+            delta[((ReportStatus) row[1]).ordinal()] = sign * (Long) row[2];
+            apply((LocalDate) row[0], department, supervisorId, delta);
+        }
+    }
+
+    private void apply(LocalDate week, EmployeeProfile employee, ReportStatus status, int sign) {
+        long[] delta = new long[ReportStatus.values().length];
+        delta[status.ordinal()] = sign;
+        apply(week, departmentKey(employee.getDepartment()), supervisorKey(employee.getSupervisor()), delta);
+    }
+
+    private void apply(LocalDate week, String department, Long supervisorId, long[] delta) {
+        weeklyComplianceRepository.applyDelta(week, department, supervisorId,
+                delta[ReportStatus.DRAFT.ordinal()],
+                delta[ReportStatus.SUBMITTED.ordinal()],
+                delta[ReportStatus.APPROVED.ordinal()],
+                delta[ReportStatus.REJECTED.ordinal()]);
+    }
+
+    private Map<String, Object> toMap(WeeklyComplianceId key, WeeklyCompliance row, Long headcount) {
+        long employees = headcount != null ? headcount : 0L;
+        long draft = row != null ? row.getDraftCount() : 0L;
+        long submitted = row != null ? row.getSubmittedCount() : 0L;
+        long approved = row != null ? row.getApprovedCount() : 0L;
+        long rejected = row != null ? row.getRejectedCount() : 0L;
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("weekStartDate", key.getWeekStartDate());
+        map.put("department", key.getDepartment().isEmpty() ? null : key.getDepartment());
+        map.put("supervisorId", key.getSupervisorId() == 0L ? null : key.getSupervisorId());
+        map.put("employees", employees);
+        map.put("draft", draft);
+        map.put("submitted", submitted);
+        map.put("approved", approved);
+        map.put("rejected", rejected);
+        map.put("missing", Math.max(0L, employees - (draft + submitted + approved + rejected)));
+        return map;
+    }
+
+    private static String departmentKey(String department) {
+        return department != null ? department : "";
+    }
+
+    private static Long supervisorKey(SupervisorProfile supervisor) {
+        return supervisor != null ? supervisor.getId() : 0L;
+    }
+}
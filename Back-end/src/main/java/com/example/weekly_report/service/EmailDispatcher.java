@@ -0,0 +1,179 @@
+package com.example.weekly_report.service;
+
+import com.example.weekly_report.entity.EmailOutbox;
+import com.example.weekly_report.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delivers queued email in three steps so no database transaction spans the SMTP conversation:
+ * a short transaction claims a batch of due rows (SKIP LOCKED, so several nodes can run it) and
+ * marks them IN_FLIGHT under a lease; the batch is then handed to JavaMailSender in one call,
+ * which sends it over a single SMTP connection; a second short transaction records the outcome.
+ * Failed rows are retried with exponential backoff and marked DEAD after
+ * app.mail.outbox.max-attempts. A row whose dispatcher dies mid-send is picked up again once its
+ * lease expires, so delivery is at least once.
+ */
+@Service
+public class EmailDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailDispatcher.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final List<EmailOutbox.Status> CLAIMABLE =
+            List.of(EmailOutbox.Status.PENDING, EmailOutbox.Status.IN_FLIGHT);
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${spring.mail.from:}")
+    private String from;
+
+    @Value("${app.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.mail.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.backoff:30s}")
+    private Duration backoff;
+
+    @Value("${app.mail.outbox.max-backoff:1h}")
+    private Duration maxBackoff;
+
+    @Value("${app.mail.outbox.lease:5m}")
+    private Duration lease;
+
+    @Value("${app.mail.outbox.retention:7d}")
+    private Duration retention;
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval:2000}")
+    public int dispatch() {
+        List<EmailOutbox> claimed = transactionTemplate.execute(status -> claim());
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+
+        Map<SimpleMailMessage, Long> batch = new IdentityHashMap<>();
+        for (EmailOutbox email : claimed) {
+            batch.put(toMessage(email), email.getId());
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        try {
+            mailSender.send(batch.keySet().toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages().isEmpty() ? allFailed(batch, e) : e.getFailedMessages();
+        } catch (MailException e) {
+            // Connection or authentication problem: nothing in the batch went out
+            failures = allFailed(batch, e);
+        }
+
+        Map<Long, Exception> outcomes = new HashMap<>();
+        for (Map.Entry<SimpleMailMessage, Long> entry : batch.entrySet()) {
+            outcomes.put(entry.getValue(), failures.get(entry.getKey()));
+        }
+        Integer sent = transactionTemplate.execute(status -> record(outcomes));
+        return sent != null ? sent : 0;
+    }
+
+    @Scheduled(cron = "${app.mail.outbox.cleanup-cron:0 0 3 * * *}")
+    @Transactional
+    public int purgeSent() {
+        return emailOutboxRepository.deleteByStatusAndSentAtBefore(
+                EmailOutbox.Status.SENT, LocalDateTime.now().minus(retention));
+    }
+
+    private List<EmailOutbox> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> due = emailOutboxRepository.claimDue(CLAIMABLE, now, PageRequest.of(0, batchSize));
+        for (EmailOutbox email : due) {
+            email.setStatus(EmailOutbox.Status.IN_FLIGHT);
+            email.setNextAttemptAt(now.plus(lease));
+        }
+        return due;
+    }
+
+    // Outcome per row id; a null failure means the message was accepted by the server
+    private int record(Map<Long, Exception> outcomes) {
+        LocalDateTime now = LocalDateTime.now();
+        int sent = 0;
+        for (EmailOutbox email : emailOutboxRepository.findAllById(outcomes.keySet())) {
+            Exception failure = outcomes.get(email.getId());
+            if (failure == null) {
+                email.setStatus(EmailOutbox.Status.SENT);
+                email.setSentAt(now);
+                // Bodies carry 2FA codes and reset links; no reason to keep them once delivered
+                email.setBody("");
+                sent++;
+            } else {
+                recordFailure(email, failure, now);
+            }
+        }
+        meterRegistry.counter("mail.outbox.sent").increment(sent);
+        return sent;
+    }
+
+    private void recordFailure(EmailOutbox email, Exception failure, LocalDateTime now) {
+        email.setAttempts(email.getAttempts() + 1);
+        String error = String.valueOf(failure.getMessage());
+        email.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        if (email.getAttempts() >= maxAttempts) {
+            email.setStatus(EmailOutbox.Status.DEAD);
+            meterRegistry.counter("mail.outbox.dead").increment();
+            log.warn("Email {} moved to dead letters after {} attempts: {}", email.getId(), email.getAttempts(), error);
+            return;
+        }
+        // backoff, 2x backoff, 4x backoff ... capped at max-backoff
+        Duration delay = backoff.multipliedBy(1L << Math.min(email.getAttempts() - 1, 20));
+        email.setStatus(EmailOutbox.Status.PENDING);
+        email.setNextAttemptAt(now.plus(delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay));
+        meterRegistry.counter("mail.outbox.retried").increment();
+    }
+
+    private SimpleMailMessage toMessage(EmailOutbox email) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        if (!from.isEmpty()) {
+            message.setFrom(from);
+        }
+        message.setTo(email.getRecipient());
+        message.setSubject(email.getSubject());
+        message.setText(email.getBody());
+        return message;
+    }
+
+    private Map<Object, Exception> allFailed(Map<SimpleMailMessage, Long> batch, Exception cause) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        for (SimpleMailMessage message : batch.keySet()) {
+            failures.put(message, cause);
+        }
+        return failures;
+    }
+}
@@ -1,23 +1,20 @@
 package com.example.weekly_report.service;
 
+import com.example.weekly_report.entity.EmailOutbox;
+import com.example.weekly_report.repository.EmailOutboxRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class EmailService {
 
     @Autowired
-    private JavaMailSender mailSender;
+    private EmailOutboxRepository emailOutboxRepository;
 
+    // Queued in the caller's transaction (or its own); EmailDispatcher delivers it in the background
+    @Transactional
     public void sendText(String to, String subject, String body) {
-        SimpleMailMessage msg = new SimpleMailMessage();
-        msg.setTo(to);
-        msg.setSubject(subject);
-        msg.setText(body);
-        mailSender.send(msg);
+        emailOutboxRepository.save(new EmailOutbox(to, subject, body));
     }
 }
-
-
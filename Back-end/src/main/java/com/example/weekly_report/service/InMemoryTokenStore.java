@@ -0,0 +1,97 @@
+package com.example.weekly_report.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-node token store. Caffeine keeps per-entry expiry in a hierarchical timer wheel, so
+ * abandoned resets and 2FA codes are dropped when they expire rather than when looked up again,
+ * and maximumSize caps memory. Size and evictions are published as cache.*{cache=authTokens}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.auth-tokens.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryTokenStore implements TokenStore {
+
+    private static final class Entry {
+        final String value;
+        final Instant expiresAt;
+
+        Entry(String value, Instant expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final Cache<String, Entry> entries;
+
+    public InMemoryTokenStore(MeterRegistry meterRegistry,
+                              @Value("${app.auth-tokens.max-size:100000}") long maxSize) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return untilExpiry(entry);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return untilExpiry(entry);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .scheduler(Scheduler.systemScheduler())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "authTokens");
+    }
+
+    @Override
+    public void put(String key, String value, Instant expiresAt) {
+        entries.put(key, new Entry(value, expiresAt));
+    }
+
+    @Override
+    public String take(String key) {
+        Entry entry = entries.asMap().remove(key);
+        return entry != null && entry.expiresAt.isAfter(Instant.now()) ? entry.value : null;
+    }
+
+    @Override
+    public boolean takeIfMatches(String key, String value) {
+        Entry entry = entries.getIfPresent(key);
+        return entry != null && entry.expiresAt.isAfter(Instant.now()) && entry.value.equals(value)
+                && entries.asMap().remove(key, entry);
+    }
+
+    @Override
+    public int sweepExpired() {
+        long before = entries.estimatedSize();
+        entries.cleanUp();
+        return (int) Math.max(0, before - entries.estimatedSize());
+    }
+
+    @Override
+    public long size() {
+        return entries.estimatedSize();
+    }
+
+    private static long untilExpiry(Entry entry) {
+        long millis = entry.expiresAt.toEpochMilli() - System.currentTimeMillis();
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(millis, 0));
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.weekly_report.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Token store shared by every node, so /auth/verify-2fa and /auth/reset-password work wherever
+ * the load balancer sends them. Rows live in an UNLOGGED table: they are worth losing on a crash
+ * (users just request a new code) in exchange for WAL-free writes. Verification is a single
+ * conditional DELETE on the primary key; expiry is reclaimed in index-ordered batches.
+ *
+ * The local cache only remembers values this node issued so a reset lookup can skip its SELECT;
+ * the DELETE against the table stays authoritative for expiry and single use.
+ */
+@Component
+@ConditionalOnProperty(name = "app.auth-tokens.store", havingValue = "database")
+public class JdbcTokenStore implements TokenStore {
+
+    private static final int SWEEP_BATCH = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<String, String> issuedHere;
+    private String upsertSql;
+
+    public JdbcTokenStore(JdbcTemplate jdbcTemplate,
+                          @Value("${app.auth-tokens.local-cache-size:10000}") long localCacheSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.issuedHere = Caffeine.newBuilder()
+                .maximumSize(localCacheSize)
+                .expireAfterWrite(Duration.ofHours(1))
+                .build();
+    }
+
+    @PostConstruct
+    void createTable() throws Exception {
+        boolean postgres;
+        try (Connection connection = jdbcTemplate.getDataSource().getConnection()) {
+            postgres = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        }
+        jdbcTemplate.execute(
+            "CREATE " + (postgres ? "UNLOGGED " : "") + "TABLE IF NOT EXISTS auth_tokens (" +
+            "token_key VARCHAR(200) PRIMARY KEY, " +
+            "token_value VARCHAR(200) NOT NULL, " +
+            "expires_at TIMESTAMP WITH TIME ZONE NOT NULL)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_auth_tokens_expires_at ON auth_tokens (expires_at)");
+        upsertSql = postgres
+            ? "INSERT INTO auth_tokens (token_key, token_value, expires_at) VALUES (?, ?, ?) " +
+              "ON CONFLICT (token_key) DO UPDATE SET token_value = EXCLUDED.token_value, expires_at = EXCLUDED.expires_at"
+            : "MERGE INTO auth_tokens (token_key, token_value, expires_at) KEY (token_key) VALUES (?, ?, ?)";
+    }
+
+    @Override
+    public void put(String key, String value, Instant expiresAt) {
+        jdbcTemplate.update(upsertSql, key, value, Timestamp.from(expiresAt));
+        issuedHere.put(key, value);
+    }
+
+    @Override
+    public String take(String key) {
+        String value = issuedHere.getIfPresent(key);
+        issuedHere.invalidate(key);
+        if (value == null) {
+            List<String> rows = jdbcTemplate.queryForList(
+                "SELECT token_value FROM auth_tokens WHERE token_key = ?", String.class, key);
+            if (rows.isEmpty()) {
+                return null;
+            }
+            value = rows.get(0);
+        }
+        return delete(key, value) ? value : null;
+    }
+
+    @Override
+    public boolean takeIfMatches(String key, String value) {
+        issuedHere.invalidate(key);
+        return delete(key, value);
+    }
+
+    @Override
+    public int sweepExpired() {
+        Timestamp now = Timestamp.from(Instant.now());
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(
+                "DELETE FROM auth_tokens WHERE token_key IN (" +
+                "SELECT token_key FROM auth_tokens WHERE expires_at <= ? ORDER BY expires_at LIMIT " + SWEEP_BATCH + ")", now);
+            total += deleted;
+        } while (deleted == SWEEP_BATCH);
+        return total;
+    }
+
+    @Override
+    public long size() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM auth_tokens", Long.class);
+        return count != null ? count : 0L;
+    }
+
+    // Claims the entry: only one caller across all nodes can delete it, and only before it expires
+    private boolean delete(String key, String value) {
+        return jdbcTemplate.update(
+            "DELETE FROM auth_tokens WHERE token_key = ? AND token_value = ? AND expires_at > ?",
+            key, value, Timestamp.from(Instant.now())) == 1;
+    }
+}
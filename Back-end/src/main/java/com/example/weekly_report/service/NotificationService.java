@@ -7,9 +7,12 @@ import com.example.weekly_report.repository.NotificationRepository;
 import com.example.weekly_report.repository.UserAccountRepository;
 import com.example.weekly_report.repository.WeeklyReportRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
@@ -25,10 +28,15 @@ public class NotificationService {
     @Autowired
     private WeeklyReportRepository weeklyReportRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Transactional(readOnly = true)
     public List<Notification> listForUser(Long recipientId) {
         return notificationRepository.findByRecipientIdOrderByCreatedAtDesc(recipientId);
     }
 
+    @Transactional(readOnly = true)
     public List<Notification> listThread(Long threadRootId) {
         return notificationRepository.findByParentIdOrderByCreatedAtAsc(threadRootId);
     }
@@ -60,12 +68,56 @@ public class NotificationService {
         return notificationRepository.save(n);
     }
 
+    /**
+     * Inserts many notifications in one JDBC batch. Callers pass ids and usernames they already
+     * hold, so no account or report lookups are made per notification.
+     */
+    public void sendBatch(List<Draft> drafts) {
+        if (drafts.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        // Each nextval reserves a whole pooled block, so these ids never overlap Hibernate's allocations
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO notifications (id, sender_id, recipient_id, report_id, subject, body, is_read, created_at, " +
+            "sender_username, recipient_username) VALUES (nextval('notifications_seq'), ?, ?, ?, ?, ?, false, ?, ?, ?)",
+            drafts, drafts.size(), (ps, d) -> {
+                ps.setLong(1, d.senderId);
+                ps.setLong(2, d.recipientId);
+                ps.setObject(3, d.reportId);
+                ps.setString(4, d.subject);
+                ps.setString(5, d.body);
+                ps.setTimestamp(6, now);
+                ps.setString(7, d.senderUsername);
+                ps.setString(8, d.recipientUsername);
+            });
+    }
+
     public void markRead(Long notificationId, boolean read) {
         Notification n = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new RuntimeException("Notification not found"));
         n.setRead(read);
         notificationRepository.save(n);
     }
-}
 
+    public static class Draft {
+        private final Long senderId;
+        private final String senderUsername;
+        private final Long recipientId;
+        private final String recipientUsername;
+        private final Long reportId;
+        private final String subject;
+        private final String body;
 
+        public Draft(Long senderId, String senderUsername, Long recipientId, String recipientUsername,
+                     Long reportId, String subject, String body) {
+            this.senderId = senderId;
+            this.senderUsername = senderUsername;
+            this.recipientId = recipientId;
+            this.recipientUsername = recipientUsername;
+            this.reportId = reportId;
+            this.subject = subject;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.weekly_report.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Version counters behind the list-level ETags, one row per scope: "a" (all reports), "s{id}"
+ * (a supervisor's team), "e{id}" (one employee's reports) and "p" (any profile or account shown
+ * in a list). Reading a tag is a primary-key lookup, so list requests never scan their scope.
+ *
+ * Counters are bumped in their own short transaction after the change commits: the hot "a" row is
+ * never locked for the length of a report edit, and a reader racing the bump pairs the new data
+ * with the old tag, which only costs that client one extra 200. Rows live in the database, so
+ * every node hands out the same tags.
+ */
+@Component
+public class ReportListVersions {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportListVersions.class);
+
+    public static final String ALL = "a";
+    public static final String PROFILES = "p";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate bumpTransaction;
+    private String bumpSql;
+
+    public ReportListVersions(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bumpTransaction = new TransactionTemplate(transactionManager);
+        this.bumpTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    void createTable() throws Exception {
+        boolean postgres;
+        try (Connection connection = jdbcTemplate.getDataSource().getConnection()) {
+            postgres = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        }
+        jdbcTemplate.execute(
+            "CREATE TABLE IF NOT EXISTS report_list_versions (" +
+            "scope VARCHAR(40) PRIMARY KEY, " +
+            "version BIGINT NOT NULL)");
+        bumpSql = postgres
+            ? "INSERT INTO report_list_versions (scope, version) VALUES (?, 1) " +
+              "ON CONFLICT (scope) DO UPDATE SET version = report_list_versions.version + 1"
+            : "MERGE INTO report_list_versions t USING (VALUES (CAST(? AS VARCHAR(40)))) s (scope) " +
+              "ON t.scope = s.scope " +
+              "WHEN MATCHED THEN UPDATE SET version = t.version + 1 " +
+              "WHEN NOT MATCHED THEN INSERT (scope, version) VALUES (s.scope, 1)";
+    }
+
+    public static String supervisorScope(Long supervisorId) {
+        return "s" + supervisorId;
+    }
+
+    public static String employeeScope(Long employeeId) {
+        return "e" + employeeId;
+    }
+
+    /**
+     * Current versions of the given scopes, joined in argument order; scopes never bumped read as 0.
+     */
+    public String current(String... scopes) {
+        String placeholders = String.join(",", Collections.nCopies(scopes.length, "?"));
+        Map<String, Long> versions = new HashMap<>();
+        jdbcTemplate.query("SELECT scope, version FROM report_list_versions WHERE scope IN (" + placeholders + ")",
+                rs -> { versions.put(rs.getString(1), rs.getLong(2)); }, (Object[]) scopes);
+        StringBuilder tag = new StringBuilder();
+        for (String scope : scopes) {
+            if (tag.length() > 0) {
+                tag.append('.');
+            }
+            tag.append(Long.toHexString(versions.getOrDefault(scope, 0L)));
+        }
+        return tag.toString();
+    }
+
+    public void reportChanged(Long employeeId, Long supervisorId) {
+        Set<String> scopes = new LinkedHashSet<>();
+        scopes.add(ALL);
+        scopes.add(employeeScope(employeeId));
+        if (supervisorId != null) {
+            scopes.add(supervisorScope(supervisorId));
+        }
+        bumpAfterCommit(scopes);
+    }
+
+    /**
+     * Bumps the scopes of many reports at once; rows of [employeeId, supervisorId].
+     */
+    public void reportsChanged(List<Long[]> owners) {
+        Set<String> scopes = new LinkedHashSet<>();
+        scopes.add(ALL);
+        for (Long[] owner : owners) {
+            scopes.add(employeeScope(owner[0]));
+            if (owner[1] != null) {
+                scopes.add(supervisorScope(owner[1]));
+            }
+        }
+        bumpAfterCommit(scopes);
+    }
+
+    public void profilesChanged() {
+        bumpAfterCommit(Set.of(PROFILES));
+    }
+
+    private void bumpAfterCommit(Set<String> scopes) {
+        // Sorted so concurrent bumps lock the rows in the same order
+        List<Object[]> args = scopes.stream().sorted().map(scope -> new Object[] {scope}).collect(Collectors.toList());
+        Runnable bump = () -> {
+            try {
+                bumpTransaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(bumpSql, args));
+            } catch (RuntimeException e) {
+                // The change itself is committed; lists in these scopes revalidate stale until the next bump
+                log.warn("Could not bump report list versions {}", scopes, e);
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bump.run();
+            }
+        });
+    }
+}
@@ -1,20 +1,54 @@
 package com.example.weekly_report.service;
 
+import com.example.weekly_report.config.CacheConfig;
+import com.example.weekly_report.dto.BulkReviewResult;
 import com.example.weekly_report.dto.CreateReportRequest;
+import com.example.weekly_report.dto.CursorPage;
+import com.example.weekly_report.dto.ReportCursor;
+import com.example.weekly_report.dto.ReportFilter;
+import com.example.weekly_report.dto.ReportSearchHit;
+import com.example.weekly_report.dto.ReportVersion;
+import com.example.weekly_report.dto.SearchCursor;
+import com.example.weekly_report.dto.WeeklyReportSummary;
+import com.example.weekly_report.dto.WeeklyReportView;
 import com.example.weekly_report.entity.*;
+import com.example.weekly_report.repository.ReportSpecifications;
 import com.example.weekly_report.repository.WeeklyReportRepository;
 import com.example.weekly_report.repository.EmployeeProfileRepository;
 import com.example.weekly_report.repository.NotificationRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.WeekFields;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -31,6 +65,27 @@ public class ReportService {
 
     @Autowired
     private NotificationRepository notificationRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ComplianceService complianceService;
+
+    @Autowired
+    private RevisionService revisionService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ReportListVersions reportListVersions;
+
+    @Value("${app.reports.page-size.default:50}")
+    private int defaultPageSize;
+
+    @Value("${app.reports.page-size.max:200}")
+    private int maxPageSize;
     
     public WeeklyReport createReport(CreateReportRequest request, Long employeeId) {
         EmployeeProfile employee = employeeProfileRepository.findById(employeeId)
@@ -56,10 +111,20 @@ public class ReportService {
         report.setStatus(ReportStatus.DRAFT);
         report.setEmployee(employee);
         
-        return weeklyReportRepository.save(report);
+        report = weeklyReportRepository.save(report);
+        complianceService.recordAdded(report);
+        listsChanged(report);
+        revisionService.recordCreated(report, employeeId);
+        return report;
     }
     
+    @CacheEvict(value = CacheConfig.REPORT_VIEWS, key = "#reportId")
     public WeeklyReport updateReport(Long reportId, CreateReportRequest request, Long employeeId) {
+        // Lock the row, then load the response's fetch plan (content, attachments, employee) into the
+        // same persistence context: the entity is serialized after the transaction has closed.
+        // FOR UPDATE cannot cover the outer-joined tables, so the two are separate statements.
+        weeklyReportRepository.findByIdForUpdate(reportId)
+                .orElseThrow(() -> new RuntimeException("Report not found"));
         WeeklyReport report = weeklyReportRepository.findById(reportId)
                 .orElseThrow(() -> new RuntimeException("Report not found"));
         
@@ -73,6 +138,8 @@ public class ReportService {
             throw new RuntimeException("Report cannot be edited in current status");
         }
         
+        LocalDate previousWeekStart = report.getWeekStartDate();
+        Map<String, String> previousFields = revisionService.captureFields(report);
         report.setWeekStartDate(request.getWeekStartDate());
         report.setWeekEndDate(request.getWeekEndDate());
         report.setAccomplishedTasks(request.getAccomplishedTasks());
@@ -81,9 +148,14 @@ public class ReportService {
         report.setAdditionalComments(request.getAdditionalComments());
         report.setHoursWorked(request.getHoursWorked());
         
-        return weeklyReportRepository.save(report);
+        report = weeklyReportRepository.save(report);
+        complianceService.recordWeekChange(report, previousWeekStart);
+        listsChanged(report);
+        revisionService.recordUpdate(report, previousFields, employeeId);
+        return report;
     }
     
+    @CacheEvict(value = CacheConfig.REPORT_VIEWS, key = "#reportId")
     public WeeklyReport submitReport(Long reportId, Long employeeId) {
         WeeklyReport report = weeklyReportRepository.findById(reportId)
                 .orElseThrow(() -> new RuntimeException("Report not found"));
@@ -99,6 +171,8 @@ public class ReportService {
         
         report.submit();
         report = weeklyReportRepository.save(report);
+        complianceService.recordTransition(report, ReportStatus.DRAFT, ReportStatus.SUBMITTED);
+        listsChanged(report);
 
         // Send notification to supervisor
         if (report.getEmployee().getSupervisor() != null) {
@@ -120,6 +194,7 @@ public class ReportService {
         return report;
     }
     
+    @CacheEvict(value = CacheConfig.REPORT_VIEWS, key = "#reportId")
     public WeeklyReport approveReport(Long reportId, String feedback) {
         WeeklyReport report = weeklyReportRepository.findById(reportId)
                 .orElseThrow(() -> new RuntimeException("Report not found"));
@@ -129,6 +204,8 @@ public class ReportService {
         }
         
         report.approve();
+        complianceService.recordTransition(report, ReportStatus.SUBMITTED, ReportStatus.APPROVED);
+        listsChanged(report);
         if (feedback != null && !feedback.trim().isEmpty()) {
             report.setSupervisorFeedback(feedback);
         }
@@ -159,6 +236,7 @@ public class ReportService {
         return report;
     }
     
+    @CacheEvict(value = CacheConfig.REPORT_VIEWS, key = "#reportId")
     public WeeklyReport rejectReport(Long reportId, String feedback) {
         WeeklyReport report = weeklyReportRepository.findById(reportId)
                 .orElseThrow(() -> new RuntimeException("Report not found"));
@@ -168,6 +246,8 @@ public class ReportService {
         }
         
         report.reject();
+        complianceService.recordTransition(report, ReportStatus.SUBMITTED, ReportStatus.REJECTED);
+        listsChanged(report);
         if (feedback != null && !feedback.trim().isEmpty()) {
             report.setSupervisorFeedback(feedback);
         }
@@ -198,26 +278,397 @@ public class ReportService {
         return report;
     }
     
+    /**
+     * Approves or rejects many submitted reports at once. Authorisation data for every id is read
+     * in one query, the status change is one UPDATE (re-checked against SUBMITTED), feedback is one
+     * UPDATE and notifications are one JDBC batch. Returns an outcome per requested id, in order.
+     * Pass supervisorProfileId to restrict the review to that supervisor's team; null for admins.
+     * Like approveReport and rejectReport, no revision is recorded: revisions track the employee's
+     * narrative fields, which a review does not change. Cached views are evicted after commit.
+     */
+    public List<BulkReviewResult> bulkReview(List<Long> reportIds, ReportStatus decision, String feedback,
+                                             Long supervisorProfileId, Long reviewerAccountId, String reviewerUsername) {
+        if (decision != ReportStatus.APPROVED && decision != ReportStatus.REJECTED) {
+            throw new RuntimeException("Decision must be APPROVED or REJECTED");
+        }
+        Set<Long> ids = new LinkedHashSet<>(reportIds);
+        Map<Long, Object[]> rows = new HashMap<>();
+        for (Object[] row : weeklyReportRepository.findReviewRows(ids)) {
+            rows.put((Long) row[0], row);
+        }
+        
+        Map<Long, BulkReviewResult> results = new LinkedHashMap<>();
+        List<Long> eligible = new ArrayList<>();
+        for (Long id : ids) {
+            Object[] row = rows.get(id);
+            if (row == null) {
+                results.put(id, new BulkReviewResult(id, "NOT_FOUND", "Report not found"));
+            } else if (supervisorProfileId != null && !supervisorProfileId.equals(row[4])) {
+                results.put(id, new BulkReviewResult(id, "FORBIDDEN", "Report not under your supervision"));
+            } else if (row[1] != ReportStatus.SUBMITTED) {
+                results.put(id, new BulkReviewResult(id, "INVALID_STATUS", "Only submitted reports can be reviewed"));
+            } else {
+                eligible.add(id);
+                results.put(id, null);
+            }
+        }
+        if (eligible.isEmpty()) {
+            return new ArrayList<>(results.values());
+        }
+        
+        Set<Long> updated = new HashSet<>(
+                weeklyReportRepository.lockByIdsAndStatus(eligible, ReportStatus.SUBMITTED.name()));
+        if (!updated.isEmpty()) {
+            weeklyReportRepository.updateReviewed(updated, decision, LocalDateTime.now());
+        }
+        boolean hasFeedback = feedback != null && !feedback.trim().isEmpty();
+        if (hasFeedback && !updated.isEmpty()) {
+            weeklyReportRepository.updateFeedback(updated, feedback);
+        }
+        
+        boolean approved = decision == ReportStatus.APPROVED;
+        String subject = approved ? "Report Approved" : "Report Rejected";
+        String verb = approved ? "approved" : "rejected";
+        List<Object[]> groups = new ArrayList<>();
+        List<Long[]> owners = new ArrayList<>();
+        List<NotificationService.Draft> drafts = new ArrayList<>();
+        Cache views = cacheManager.getCache(CacheConfig.REPORT_VIEWS);
+        for (Long id : eligible) {
+            if (!updated.contains(id)) {
+                results.put(id, new BulkReviewResult(id, "CONFLICT", "Report was reviewed concurrently"));
+                continue;
+            }
+            Object[] row = rows.get(id);
+            results.put(id, new BulkReviewResult(id, decision.name(), null));
+            groups.add(new Object[] {row[2], row[3], row[4]});
+            owners.add(new Long[] {(Long) row[7], (Long) row[4]});
+            if (row[5] != null) {
+                String message = hasFeedback
+                        ? String.format("Your weekly report for week of %s has been %s with feedback: %s", row[2], verb, feedback)
+                        : String.format("Your weekly report for week of %s has been %s", row[2], verb);
+                drafts.add(new NotificationService.Draft(reviewerAccountId, reviewerUsername,
+                        (Long) row[5], (String) row[6], id, subject, message));
+            }
+            if (views != null) {
+                views.evict(id);
+            }
+        }
+        complianceService.recordTransitions(groups, ReportStatus.SUBMITTED, decision);
+        reportListVersions.reportsChanged(owners);
+        notificationService.sendBatch(drafts);
+        return new ArrayList<>(results.values());
+    }
+    
+    @Transactional(readOnly = true)
     public List<WeeklyReport> getReportsByEmployee(Long employeeId) {
         return weeklyReportRepository.findByEmployeeIdOrderByWeekStartDateDesc(employeeId);
     }
     
+    @Transactional(readOnly = true)
     public List<WeeklyReport> getReportsBySupervisor(Long supervisorId) {
         return weeklyReportRepository.findByEmployeeSupervisorIdOrderByWeekStartDateDesc(supervisorId);
     }
     
+    @Transactional(readOnly = true)
     public List<WeeklyReport> getAllReports() {
         return weeklyReportRepository.findAllByOrderByWeekStartDateDesc();
     }
     
+    @Transactional(readOnly = true)
     public List<WeeklyReport> getReportsByStatus(ReportStatus status) {
         return weeklyReportRepository.findByStatusOrderByWeekStartDateDesc(status);
     }
     
+    // All filters combine into one statement; role scope arrives as employeeId / supervisorId on the filter
+    @Transactional(readOnly = true)
+    public List<WeeklyReportView> getReportViews(ReportFilter filter) {
+        return weeklyReportRepository.findViews(ReportSpecifications.matching(filter), 0);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<WeeklyReportView> getReportViewsForCurrentWeek() {
+        LocalDate weekStart = getCurrentWeekStart();
+        return weeklyReportRepository.findViewsByWeekStartDateBetween(weekStart, weekStart.plusDays(6));
+    }
+    
+    // Narrow variant for list screens: metadata and names only, no TEXT columns are read
+    @Transactional(readOnly = true)
+    public List<WeeklyReportSummary> getReportSummaries(ReportFilter filter) {
+        return weeklyReportRepository.findSummaries(ReportSpecifications.matching(filter), 0);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<WeeklyReportView> getReportsPage(ReportFilter filter, String cursor, Integer limit) {
+        int size = resolvePageSize(limit);
+        return toPage(weeklyReportRepository.findViews(pageSpec(filter, cursor), size + 1), size);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<WeeklyReportSummary> getReportSummaryPage(ReportFilter filter, String cursor, Integer limit) {
+        int size = resolvePageSize(limit);
+        return toPage(weeklyReportRepository.findSummaries(pageSpec(filter, cursor), size + 1), size);
+    }
+    
+    private Specification<WeeklyReport> pageSpec(ReportFilter filter, String cursor) {
+        Specification<WeeklyReport> spec = ReportSpecifications.matching(filter);
+        if (cursor != null) {
+            spec = spec.and(ReportSpecifications.after(ReportCursor.decode(cursor)));
+        }
+        return spec;
+    }
+    
+    private int resolvePageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(limit, maxPageSize);
+    }
+    
+    // Rows are fetched with one extra element; its presence tells us another page exists.
+    private <T extends WeeklyReportSummary> CursorPage<T> toPage(List<T> rows, int size) {
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            T last = rows.get(size - 1);
+            nextCursor = new ReportCursor(last.getWeekStartDate(), last.getId()).encode();
+        }
+        return new CursorPage<>(rows, nextCursor, size);
+    }
+    
+    /**
+     * Dashboard aggregates computed with GROUP BY queries. Exactly one of employeeId / supervisorId
+     * may be set to scope the figures; both null means the whole organisation.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getReportStats(Long employeeId, Long supervisorId, int weeks) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (ReportStatus status : ReportStatus.values()) {
+            byStatus.put(status.name(), 0L);
+        }
+        long total = 0;
+        for (Object[] row : weeklyReportRepository.countByStatus(employeeId, supervisorId)) {
+            long count = ((Number) row[1]).longValue();
+            byStatus.put(((ReportStatus) row[0]).name(), count);
+            total += count;
+        }
+        stats.put("total", total);
+        stats.put("countsByStatus", byStatus);
+        
+        List<Map<String, Object>> byWeek = new ArrayList<>();
+        for (Object[] row : weeklyReportRepository.countByWeek(employeeId, supervisorId, PageRequest.of(0, Math.max(weeks, 1)))) {
+            Map<String, Object> week = new LinkedHashMap<>();
+            week.put("weekStartDate", row[0]);
+            week.put("count", ((Number) row[1]).longValue());
+            byWeek.add(week);
+        }
+        stats.put("countsByWeek", byWeek);
+        
+        stats.put("averageHoursWorked", weeklyReportRepository.averageHoursWorked(employeeId, supervisorId));
+        
+        List<Map<String, Object>> pending = new ArrayList<>();
+        for (Object[] row : weeklyReportRepository.countPendingBySupervisor(employeeId, supervisorId)) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("supervisorId", row[0]);
+            entry.put("supervisorUsername", row[1]);
+            entry.put("pending", ((Number) row[2]).longValue());
+            pending.add(entry);
+        }
+        stats.put("pendingBySupervisor", pending);
+        return stats;
+    }
+    
+    /**
+     * Streams matching reports to {@code out} as NDJSON or CSV. Must run in its own read-only
+     * transaction because the underlying cursor is consumed while the response is being written.
+     * Rows are projected straight into views, so nothing accumulates in the persistence context.
+     */
+    @Transactional(readOnly = true)
+    public void exportReports(String format, Long employeeId, Long supervisorId, ReportStatus status,
+                              LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (csv) {
+            writer.write(String.join(",", EXPORT_COLUMNS));
+            writer.write("\n");
+        }
+        try (Stream<WeeklyReportView> rows = weeklyReportRepository.streamViewsForExport(
+                employeeId, supervisorId, status, startDate, endDate)) {
+            Iterator<WeeklyReportView> it = rows.iterator();
+            int written = 0;
+            while (it.hasNext()) {
+                WeeklyReportView view = it.next();
+                if (csv) {
+                    writeCsvRow(writer, view);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(view));
+                    writer.write("\n");
+                }
+                if (++written % 500 == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+    }
+    
+    private static final String[] EXPORT_COLUMNS = {
+        "id", "weekStartDate", "weekEndDate", "status", "employeeUsername", "employeeDisplayName",
+        "supervisorUsername", "supervisorDisplayName", "createdAt", "submittedAt", "approvedAt", "rejectedAt",
+        "accomplishments", "challenges", "nextWeekGoals", "additionalNotes", "supervisorFeedback"
+    };
+    
+    private void writeCsvRow(Writer writer, WeeklyReportView v) throws IOException {
+        Object[] values = {
+            v.getId(), v.getWeekStartDate(), v.getWeekEndDate(), v.getStatus(), v.getEmployeeUsername(),
+            v.getEmployeeDisplayName(), v.getSupervisorUsername(), v.getSupervisorDisplayName(), v.getCreatedAt(),
+            v.getSubmittedAt(), v.getApprovedAt(), v.getRejectedAt(), v.getAccomplishments(), v.getChallenges(),
+            v.getNextWeekGoals(), v.getAdditionalNotes(), v.getSupervisorFeedback()
+        };
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) writer.write(',');
+            writer.write(csvEscape(values[i]));
+        }
+        writer.write("\n");
+    }
+    
+    private String csvEscape(Object value) {
+        if (value == null) return "";
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return "\"" + text.replace("\"", "\"\"") + "\"";
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<ReportSearchHit> searchReports(String query, Long employeeId, Long supervisorId,
+                                                     String cursor, Integer limit) {
+        int size = resolvePageSize(limit);
+        SearchCursor after = cursor != null ? SearchCursor.decode(cursor) : null;
+        List<Object[]> rows = weeklyReportRepository.searchReports(query, employeeId, supervisorId,
+                after != null ? after.getRank() : null, after != null ? after.getId() : null, size + 1);
+        
+        List<ReportSearchHit> hits = new ArrayList<>();
+        for (Object[] row : rows) {
+            ReportSearchHit hit = new ReportSearchHit();
+            hit.setId(((Number) row[0]).longValue());
+            hit.setWeekStartDate(toLocalDate(row[1]));
+            hit.setWeekEndDate(toLocalDate(row[2]));
+            hit.setStatus(ReportStatus.valueOf((String) row[3]));
+            String fullName = row[6] + " " + row[7];
+            hit.setEmployeeUsername(WeeklyReportView.resolveName((String) row[4], (String) row[5], fullName, null));
+            hit.setEmployeeDisplayName(WeeklyReportView.resolveDisplayName(fullName, hit.getEmployeeUsername()));
+            hit.setRank(((Number) row[8]).floatValue());
+            hit.setSnippet(toSnippetHtml((String) row[9]));
+            hits.add(hit);
+        }
+        
+        String nextCursor = null;
+        if (hits.size() > size) {
+            hits = hits.subList(0, size);
+            ReportSearchHit last = hits.get(size - 1);
+            nextCursor = new SearchCursor(last.getRank(), last.getId()).encode();
+        }
+        return new CursorPage<>(hits, nextCursor, size);
+    }
+    
+    // Escapes the report text and only then turns the headline markers into <mark> tags, so the
+    // snippet is safe to render as HTML.
+    static String toSnippetHtml(String headline) {
+        if (headline == null) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(headline, StandardCharsets.UTF_8.name())
+                .replace(WeeklyReportRepository.SNIPPET_START, "<mark>")
+                .replace(WeeklyReportRepository.SNIPPET_STOP, "</mark>");
+    }
+    
+    private void listsChanged(WeeklyReport report) {
+        EmployeeProfile employee = report.getEmployee();
+        reportListVersions.reportChanged(employee.getId(),
+                employee.getSupervisor() != null ? employee.getSupervisor().getId() : null);
+    }
+    
+    private LocalDate toLocalDate(Object value) {
+        if (value instanceof java.sql.Date) {
+            return ((java.sql.Date) value).toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<ReportVersion> getReportVersion(Long reportId) {
+        return weeklyReportRepository.findVersionById(reportId);
+    }
+    
+    @Transactional(readOnly = true)
     public Optional<WeeklyReport> getReportById(Long id) {
         return weeklyReportRepository.findById(id);
     }
     
+    /**
+     * Detail view of a report, served from the reportViews cache. Entries are immutable snapshots
+     * tagged with the ETag of the state they were built from; an entry whose tag no longer matches
+     * the current version (changed on another node) is rebuilt instead of served. Local state
+     * transitions below also evict them, after commit.
+     * Deliberately not read-only: a lagging replica could re-cache the state that was just evicted.
+     */
+    public Optional<WeeklyReportView> getReportView(ReportVersion version) {
+        Cache views = cacheManager.getCache(CacheConfig.REPORT_VIEWS);
+        CachedView cached = views.get(version.getReportId(), CachedView.class);
+        if (cached != null && cached.eTag().equals(version.getETag())) {
+            return Optional.of(cached.view());
+        }
+        return weeklyReportRepository.findById(version.getReportId()).map(report -> {
+            WeeklyReportView view = toView(report);
+            views.put(report.getId(), new CachedView(eTagOf(report), view));
+            return view;
+        });
+    }
+
+    private record CachedView(String eTag, WeeklyReportView view) {
+    }
+
+    private String eTagOf(WeeklyReport report) {
+        EmployeeProfile employee = report.getEmployee();
+        SupervisorProfile supervisor = employee != null ? employee.getSupervisor() : null;
+        UserAccount employeeAccount = employee != null ? employee.getUserAccount() : null;
+        UserAccount supervisorAccount = supervisor != null ? supervisor.getUserAccount() : null;
+        return new ReportVersion(report.getId(), report.getUpdatedAt(),
+                employee != null ? employee.getUpdatedAt() : null,
+                employeeAccount != null ? employeeAccount.getUpdatedAt() : null,
+                supervisor != null ? supervisor.getUpdatedAt() : null,
+                supervisorAccount != null ? supervisorAccount.getUpdatedAt() : null,
+                employee != null ? employee.getId() : null,
+                supervisor != null ? supervisor.getId() : null).getETag();
+    }
+
+    private WeeklyReportView toView(WeeklyReport reportEntity) {
+        EmployeeProfile employee = reportEntity.getEmployee();
+        SupervisorProfile supervisor = employee != null ? employee.getSupervisor() : null;
+        UserAccount account = employee != null ? employee.getUserAccount() : null;
+        UserAccount supAccount = supervisor != null ? supervisor.getUserAccount() : null;
+        return new WeeklyReportView(
+                reportEntity.getId(), reportEntity.getWeekStartDate(), reportEntity.getWeekEndDate(),
+                reportEntity.getStatus(), reportEntity.getCreatedAt(), reportEntity.getSubmittedAt(),
+                reportEntity.getApprovedAt(), reportEntity.getRejectedAt(), reportEntity.getSupervisorFeedback(),
+                reportEntity.getAccomplishments(), reportEntity.getChallenges(), reportEntity.getNextWeekGoals(),
+                reportEntity.getAdditionalNotes(),
+                employee != null ? employee.getId() : null,
+                account != null ? account.getUsername() : null,
+                account != null ? account.getEmail() : null,
+                employee != null ? employee.getFirstName() : null,
+                employee != null ? employee.getLastName() : null,
+                supervisor != null ? supervisor.getId() : null,
+                supAccount != null ? supAccount.getUsername() : null,
+                supAccount != null ? supAccount.getEmail() : null,
+                supervisor != null ? supervisor.getFirstName() : null,
+                supervisor != null ? supervisor.getLastName() : null);
+    }
+    
+    @CacheEvict(value = CacheConfig.REPORT_VIEWS, key = "#reportId")
     public void deleteReport(Long reportId, Long employeeId) {
         WeeklyReport report = weeklyReportRepository.findById(reportId)
                 .orElseThrow(() -> new RuntimeException("Report not found"));
@@ -232,9 +683,14 @@ public class ReportService {
             throw new RuntimeException("Only draft reports can be deleted");
         }
         
+        complianceService.recordRemoved(report);
+        
+        listsChanged(report);
+        revisionService.deleteForReport(reportId);
         weeklyReportRepository.delete(report);
     }
 
+    @CacheEvict(value = CacheConfig.REPORT_VIEWS, key = "#reportId")
     public void supervisorDeleteDraft(Long reportId, Long supervisorProfileId) {
         WeeklyReport report = weeklyReportRepository.findById(reportId)
                 .orElseThrow(() -> new RuntimeException("Report not found"));
@@ -245,9 +701,13 @@ public class ReportService {
         if (report.getStatus() != ReportStatus.DRAFT) {
             throw new RuntimeException("Only draft reports can be deleted");
         }
+        complianceService.recordRemoved(report);
+        listsChanged(report);
+        revisionService.deleteForReport(reportId);
         weeklyReportRepository.delete(report);
     }
 
+    @CacheEvict(value = CacheConfig.REPORT_VIEWS, key = "#reportId")
     public void adminDeleteReport(Long reportId) {
         WeeklyReport report = weeklyReportRepository.findById(reportId)
                 .orElseThrow(() -> new RuntimeException("Report not found"));
@@ -255,22 +715,31 @@ public class ReportService {
         try {
             notificationRepository.detachReportReferences(reportId);
         } catch (Exception ignored) {}
+        complianceService.recordRemoved(report);
+        listsChanged(report);
+        revisionService.deleteForReport(reportId);
         weeklyReportRepository.delete(report);
     }
     
-    public List<WeeklyReport> getReportsForCurrentWeek() {
-        LocalDate now = LocalDate.now();
+    public LocalDate getCurrentWeekStart() {
         WeekFields weekFields = WeekFields.of(Locale.getDefault());
-        LocalDate weekStart = now.with(weekFields.dayOfWeek(), 1);
+        return LocalDate.now().with(weekFields.dayOfWeek(), 1);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<WeeklyReport> getReportsForCurrentWeek() {
+        LocalDate weekStart = getCurrentWeekStart();
         LocalDate weekEnd = weekStart.plusDays(6);
         
         return weeklyReportRepository.findByWeekStartDateBetween(weekStart, weekEnd);
     }
     
+    @Transactional(readOnly = true)
     public List<WeeklyReport> getReportsForDateRange(LocalDate startDate, LocalDate endDate) {
         return weeklyReportRepository.findByWeekStartDateBetween(startDate, endDate);
     }
 
+    @CacheEvict(value = CacheConfig.REPORT_VIEWS, key = "#reportId")
     public WeeklyReport overrideReportStatus(Long reportId, ReportStatus newStatus, String feedback) {
         WeeklyReport report = weeklyReportRepository.findById(reportId)
                 .orElseThrow(() -> new RuntimeException("Report not found"));
@@ -296,6 +765,8 @@ public class ReportService {
         }
         
         report = weeklyReportRepository.save(report);
+        complianceService.recordTransition(report, oldStatus, newStatus);
+        listsChanged(report);
         
         // Send notification about status change
         try {
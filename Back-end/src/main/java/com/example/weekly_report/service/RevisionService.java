@@ -0,0 +1,205 @@
+package com.example.weekly_report.service;
+
+import com.example.weekly_report.entity.ReportRevision;
+import com.example.weekly_report.entity.WeeklyReport;
+import com.example.weekly_report.repository.ReportRevisionRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Records and replays report revisions. Each tracked field is diffed against its previous value
+ * by trimming the common prefix and suffix, so an autosave that touches one sentence stores that
+ * sentence plus two offsets. A full snapshot is written every {@code checkpointInterval}
+ * revisions, bounding how many deltas a reconstruction has to apply.
+ */
+@Service
+@Transactional
+public class RevisionService {
+
+    private static final TypeReference<Map<String, String>> SNAPSHOT_TYPE = new TypeReference<>() {};
+    private static final TypeReference<Map<String, Map<String, Object>>> DELTA_TYPE = new TypeReference<>() {};
+
+    @Autowired
+    private ReportRevisionRepository reportRevisionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.reports.revisions.checkpoint-interval:20}")
+    private int checkpointInterval;
+
+    /** Tracked field values of a report, keyed by the names used in revision payloads. */
+    public Map<String, String> captureFields(WeeklyReport report) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("accomplishedTasks", report.getAccomplishedTasks());
+        fields.put("challengesFaced", report.getChallengesFaced());
+        fields.put("nextWeekPlans", report.getNextWeekPlans());
+        fields.put("additionalComments", report.getAdditionalComments());
+        fields.put("hoursWorked", report.getHoursWorked() != null ? report.getHoursWorked().toString() : null);
+        return fields;
+    }
+
+    public void recordCreated(WeeklyReport report, Long authorProfileId) {
+        Map<String, String> fields = captureFields(report);
+        save(report.getId(), 1, ReportRevision.Kind.SNAPSHOT, fields, fields.keySet(), authorProfileId);
+    }
+
+    /**
+     * Appends a revision if any tracked field differs from {@code before}. Reports created before
+     * revision tracking get their previous state recorded as a baseline snapshot first.
+     * The caller must hold a write lock on the report row (see WeeklyReportRepository.findByIdForUpdate)
+     * so concurrent edits cannot take the same revision number.
+     */
+    public void recordUpdate(WeeklyReport report, Map<String, String> before, Long authorProfileId) {
+        Map<String, String> after = captureFields(report);
+        Map<String, Map<String, Object>> delta = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : after.entrySet()) {
+            String old = before.get(entry.getKey());
+            if (!Objects.equals(old, entry.getValue())) {
+                delta.put(entry.getKey(), diff(old, entry.getValue()));
+            }
+        }
+        if (delta.isEmpty()) {
+            return;
+        }
+
+        int latest = reportRevisionRepository.findLatestRevisionNumber(report.getId());
+        if (latest == 0) {
+            save(report.getId(), 1, ReportRevision.Kind.SNAPSHOT, before, before.keySet(), null);
+            latest = 1;
+        }
+        int next = latest + 1;
+        if ((next - 1) % checkpointInterval == 0) {
+            save(report.getId(), next, ReportRevision.Kind.SNAPSHOT, after, delta.keySet(), authorProfileId);
+        } else {
+            save(report.getId(), next, ReportRevision.Kind.DELTA, delta, delta.keySet(), authorProfileId);
+        }
+    }
+
+    public void deleteForReport(Long reportId) {
+        reportRevisionRepository.deleteByReportId(reportId);
+    }
+
+    public void deleteForEmployee(Long employeeId) {
+        reportRevisionRepository.deleteByEmployeeId(employeeId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> listRevisions(Long reportId) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Object[] row : reportRevisionRepository.findSummaries(reportId)) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("revision", row[0]);
+            item.put("kind", row[1]);
+            item.put("changedFields", row[2] != null ? List.of(((String) row[2]).split(",")) : List.of());
+            item.put("authorProfileId", row[3]);
+            item.put("createdAt", row[4]);
+            result.add(item);
+        }
+        return result;
+    }
+
+    /**
+     * Rebuilds the tracked fields as of the given revision: nearest snapshot, then its deltas.
+     * Returns null when the revision does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, String> getRevision(Long reportId, int revision) {
+        Integer snapshot = reportRevisionRepository.findKindAtOrBefore(reportId, revision, ReportRevision.Kind.SNAPSHOT);
+        if (snapshot == null) {
+            return null;
+        }
+        List<ReportRevision> chain = reportRevisionRepository.findRange(reportId, snapshot, revision);
+        if (chain.isEmpty() || chain.get(chain.size() - 1).getRevisionNumber() != revision) {
+            return null;
+        }
+        Map<String, String> fields = read(chain.get(0).getPayload(), SNAPSHOT_TYPE);
+        for (ReportRevision step : chain.subList(1, chain.size())) {
+            if (step.getKind() == ReportRevision.Kind.SNAPSHOT) {
+                fields = read(step.getPayload(), SNAPSHOT_TYPE);
+                continue;
+            }
+            Map<String, Map<String, Object>> delta = read(step.getPayload(), DELTA_TYPE);
+            for (Map.Entry<String, Map<String, Object>> edit : delta.entrySet()) {
+                fields.put(edit.getKey(), patch(fields.get(edit.getKey()), edit.getValue()));
+            }
+        }
+        return fields;
+    }
+
+    // Edit as {p: kept prefix length, s: kept suffix length, t: replacement text}; {x: true} means null
+    static Map<String, Object> diff(String before, String after) {
+        Map<String, Object> edit = new LinkedHashMap<>();
+        if (after == null) {
+            edit.put("x", true);
+            return edit;
+        }
+        String old = before != null ? before : "";
+        int max = Math.min(old.length(), after.length());
+        int prefix = 0;
+        while (prefix < max && old.charAt(prefix) == after.charAt(prefix)) {
+            prefix++;
+        }
+        // Never cut a surrogate pair: the stored text must be valid on its own
+        if (prefix > 0 && Character.isHighSurrogate(old.charAt(prefix - 1))) {
+            prefix--;
+        }
+        int suffix = 0;
+        while (suffix < max - prefix
+                && old.charAt(old.length() - 1 - suffix) == after.charAt(after.length() - 1 - suffix)) {
+            suffix++;
+        }
+        if (suffix > 0 && Character.isLowSurrogate(old.charAt(old.length() - suffix))) {
+            suffix--;
+        }
+        edit.put("p", prefix);
+        edit.put("s", suffix);
+        edit.put("t", after.substring(prefix, after.length() - suffix));
+        return edit;
+    }
+
+    static String patch(String before, Map<String, Object> edit) {
+        if (Boolean.TRUE.equals(edit.get("x"))) {
+            return null;
+        }
+        String old = before != null ? before : "";
+        int prefix = ((Number) edit.get("p")).intValue();
+        int suffix = ((Number) edit.get("s")).intValue();
+        return old.substring(0, prefix) + edit.get("t") + old.substring(old.length() - suffix);
+    }
+
+    private void save(Long reportId, int number, ReportRevision.Kind kind, Object payload,
+                      Iterable<String> changedFields, Long authorProfileId) {
+        ReportRevision revision = new ReportRevision();
+        revision.setReportId(reportId);
+        revision.setRevisionNumber(number);
+        revision.setKind(kind);
+        revision.setChangedFields(String.join(",", changedFields));
+        revision.setAuthorProfileId(authorProfileId);
+        try {
+            revision.setPayload(objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize report revision");
+        }
+        reportRevisionRepository.save(revision);
+    }
+
+    private <T> T read(String payload, TypeReference<T> type) {
+        try {
+            return objectMapper.readValue(payload, type);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Corrupt report revision payload");
+        }
+    }
+}
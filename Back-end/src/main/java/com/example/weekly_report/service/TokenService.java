@@ -1,64 +1,60 @@
 package com.example.weekly_report.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class TokenService {
 
-    private static class Entry {
-        String value;
-        Instant expiresAt;
-        String subject;
-    }
+    private static final String RESET_PREFIX = "reset:";
+    private static final String TWO_FACTOR_PREFIX = "2fa:";
+
+    @Autowired
+    private TokenStore tokenStore;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
 
-    private final Map<String, Entry> resetTokensByToken = new ConcurrentHashMap<>();
-    private final Map<Long, Entry> twoFactorByUserId = new ConcurrentHashMap<>();
+    private Counter swept;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("auth.tokens.size", tokenStore, TokenStore::size).register(meterRegistry);
+        swept = meterRegistry.counter("auth.tokens.swept");
+    }
 
     public String createPasswordResetToken(String subject, long ttlSeconds) {
         String token = UUID.randomUUID().toString();
-        Entry e = new Entry();
-        e.value = token;
-        e.expiresAt = Instant.now().plusSeconds(ttlSeconds);
-        e.subject = subject;
-        resetTokensByToken.put(token, e);
+        tokenStore.put(RESET_PREFIX + token, subject, Instant.now().plusSeconds(ttlSeconds));
         return token;
     }
 
     public String consumePasswordResetToken(String token) {
-        Entry e = resetTokensByToken.remove(token);
-        if (e == null) return null;
-        if (e.expiresAt.isBefore(Instant.now())) return null;
-        return e.subject;
+        return tokenStore.take(RESET_PREFIX + token);
     }
 
     public String createTwoFactorCode(Long userId, long ttlSeconds) {
         String code = String.valueOf(100000 + (int)(Math.random() * 900000));
-        Entry e = new Entry();
-        e.value = code;
-        e.expiresAt = Instant.now().plusSeconds(ttlSeconds);
-        e.subject = String.valueOf(userId);
-        twoFactorByUserId.put(userId, e);
+        tokenStore.put(TWO_FACTOR_PREFIX + userId, code, Instant.now().plusSeconds(ttlSeconds));
         return code;
     }
 
+    // A wrong code leaves the pending one in place; the right one can be used exactly once
     public boolean verifyTwoFactorCode(Long userId, String code) {
-        Entry e = twoFactorByUserId.get(userId);
-        if (e == null) return false;
-        if (e.expiresAt.isBefore(Instant.now())) {
-            twoFactorByUserId.remove(userId);
-            return false;
-        }
-        boolean ok = e.value.equals(code);
-        if (ok) twoFactorByUserId.remove(userId);
-        return ok;
+        return code != null && tokenStore.takeIfMatches(TWO_FACTOR_PREFIX + userId, code);
     }
-}
-
-
-
 
+    // Abandoned resets and 2FA codes are reclaimed here instead of waiting for a lookup
+    @Scheduled(fixedDelayString = "${app.auth-tokens.sweep-interval:60000}")
+    public void sweepExpired() {
+        swept.increment(tokenStore.sweepExpired());
+    }
+}
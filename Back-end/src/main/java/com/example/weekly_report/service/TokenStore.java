@@ -0,0 +1,24 @@
+package com.example.weekly_report.service;
+
+import java.time.Instant;
+
+/**
+ * Backend for the short-lived values issued by TokenService (password reset tokens, 2FA codes).
+ * Implementations must never return an expired value; sweepExpired only reclaims the space.
+ * Selected with app.auth-tokens.store.
+ */
+public interface TokenStore {
+
+    void put(String key, String value, Instant expiresAt);
+
+    /** Removes the entry and returns its value, or null when absent or expired. */
+    String take(String key);
+
+    /** Removes the entry only if it is unexpired and holds the given value. */
+    boolean takeIfMatches(String key, String value);
+
+    /** Drops expired entries and returns how many were removed. */
+    int sweepExpired();
+
+    long size();
+}
@@ -1,12 +1,16 @@
 package com.example.weekly_report.service;
 
+import com.example.weekly_report.config.CacheConfig;
 import com.example.weekly_report.dto.UserCreateRequest;
 import com.example.weekly_report.entity.*;
 import com.example.weekly_report.repository.UserAccountRepository;
 import com.example.weekly_report.repository.AdminProfileRepository;
 import com.example.weekly_report.repository.EmployeeProfileRepository;
 import com.example.weekly_report.repository.SupervisorProfileRepository;
+import com.example.weekly_report.security.PrincipalCache;
+import com.example.weekly_report.security.TokenVersionCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -15,6 +19,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -40,6 +45,21 @@ public class UserService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private ComplianceService complianceService;
+
+    @Autowired
+    private RevisionService revisionService;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenVersionCache tokenVersionCache;
+
+    @Autowired
+    private ReportListVersions reportListVersions;
+
     
     public UserAccount createUser(UserCreateRequest request) {
         // Check if username already exists
@@ -116,18 +136,51 @@ public class UserService {
         return profile;
     }
     
+    @Transactional(readOnly = true)
     public List<UserAccount> getAllUsers() {
         return userAccountRepository.findAll();
     }
     
+    @Transactional(readOnly = true)
+    public long countUsers() {
+        return userAccountRepository.count();
+    }
+    
+    @Transactional(readOnly = true)
+    public long countEnabledUsers() {
+        return userAccountRepository.countByEnabled(true);
+    }
+    
+    @Transactional(readOnly = true)
+    public Map<UserRole, Long> countUsersByRole() {
+        Map<UserRole, Long> counts = new EnumMap<>(UserRole.class);
+        for (UserRole role : UserRole.values()) {
+            counts.put(role, 0L);
+        }
+        for (Object[] row : userAccountRepository.countGroupedByRole()) {
+            if (row[0] != null) {
+                counts.put((UserRole) row[0], ((Number) row[1]).longValue());
+            }
+        }
+        return counts;
+    }
+    
+    public boolean isDatabaseReachable() {
+        Integer result = userAccountRepository.ping();
+        return result != null && result == 1;
+    }
+    
+    @Transactional(readOnly = true)
     public Optional<UserAccount> getUserById(Long id) {
         return userAccountRepository.findById(id);
     }
     
+    @Transactional(readOnly = true)
     public Optional<UserAccount> getUserByUsername(String username) {
         return userAccountRepository.findByUsername(username);
     }
     
+    @Transactional(readOnly = true)
     public Optional<UserAccount> getByEmail(String email) {
         return userAccountRepository.findByEmail(email);
     }
@@ -141,9 +194,13 @@ public class UserService {
             throw new RuntimeException("New password must be different from the old password");
         }
         user.setPassword(encoded);
+        revokeTokens(user);
         userAccountRepository.save(user);
+        principalCache.invalidate(username);
     }
     
+    // Report views embed profile names and the supervisor, so any change here can affect many of them
+    @CacheEvict(value = CacheConfig.REPORT_VIEWS, allEntries = true)
     public UserAccount updateUser(Long id, UserCreateRequest request) {
         UserAccount user = userAccountRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -152,11 +209,15 @@ public class UserService {
         user.setEmail(request.getEmail());
         if (request.getPassword() != null && !request.getPassword().isEmpty()) {
             user.setPassword(passwordEncoder.encode(request.getPassword()));
+            revokeTokens(user);
         }
         
         // Update profile
         BaseProfile profile = user.getProfile();
         if (profile != null) {
+            if (profile instanceof EmployeeProfile employeeProfile) {
+                complianceService.reassignEmployee(employeeProfile, request.getDepartment(), employeeProfile.getSupervisor());
+            }
             profile.setFirstName(request.getFirstName());
             profile.setLastName(request.getLastName());
             profile.setDepartment(request.getDepartment());
@@ -164,9 +225,13 @@ public class UserService {
             profile.setPhoneNumber(request.getPhoneNumber());
         }
         
+        principalCache.invalidate(user.getUsername());
+        reportListVersions.profilesChanged();
         return userAccountRepository.save(user);
     }
     
+    // Report views embed profile names and the supervisor, so any change here can affect many of them
+    @CacheEvict(value = CacheConfig.REPORT_VIEWS, allEntries = true)
     public void deleteUser(Long id) {
         UserAccount user = userAccountRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -176,7 +241,16 @@ public class UserService {
             throw new RuntimeException("Cannot delete an admin account");
         }
 
+        // The employee's reports are removed with the profile
+        if (user.getProfile() instanceof EmployeeProfile employeeProfile) {
+            complianceService.removeEmployee(employeeProfile);
+            revisionService.deleteForEmployee(employeeProfile.getId());
+        }
+
         userAccountRepository.delete(user);
+        principalCache.invalidate(user.getUsername());
+        reportListVersions.profilesChanged();
+        tokenVersionCache.revoke(user.getId());
     }
     
     public void enableUser(Long id) {
@@ -184,13 +258,22 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
         user.setEnabled(true);
         userAccountRepository.save(user);
+        principalCache.invalidate(user.getUsername());
     }
     
     public void disableUser(Long id) {
         UserAccount user = userAccountRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         user.setEnabled(false);
+        revokeTokens(user);
         userAccountRepository.save(user);
+        principalCache.invalidate(user.getUsername());
+    }
+    
+    // Invalidates every JWT issued to the user so far, in both authentication modes
+    private void revokeTokens(UserAccount user) {
+        user.revokeTokens();
+        tokenVersionCache.update(user.getId(), user.getTokenVersion());
     }
     
     private String generateAdminId() {
@@ -205,6 +288,8 @@ public class UserService {
         return "EMP" + System.currentTimeMillis();
     }
     
+    // Report views embed profile names and the supervisor, so any change here can affect many of them
+    @CacheEvict(value = CacheConfig.REPORT_VIEWS, allEntries = true)
     public void assignSupervisor(Long employeeId, Long supervisorId) {
         // Get the employee profile
         UserAccount employeeAccount = userAccountRepository.findById(employeeId)
@@ -239,8 +324,10 @@ public class UserService {
         }
         
         // Assign supervisor to employee
+        complianceService.reassignEmployee(employeeProfile, employeeProfile.getDepartment(), supervisorProfile);
         employeeProfile.setSupervisor(supervisorProfile);
         employeeProfileRepository.save(employeeProfile);
+        reportListVersions.profilesChanged();
         
         // Send notification to employee
         try {
@@ -275,6 +362,7 @@ public class UserService {
         }
     }
     
+    @Transactional(readOnly = true)
     public List<UserAccount> getUsersByRole(UserRole role) {
         try {
             System.out.println("=== DEBUG: UserService.getUsersByRole called with role: " + role);
@@ -296,6 +384,7 @@ public class UserService {
         }
     }
 
+    @Transactional(readOnly = true)
     public List<Map<String, Object>> getAssignedEmployees(Long supervisorId) {
         try {
             System.out.println("=== DEBUG: UserService.getAssignedEmployees called with supervisorId: " + supervisorId);
@@ -0,0 +1,93 @@
+package com.example.weekly_report.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReadWriteRoutingDataSourceTests {
+
+    private final DataSource primary = node("primary");
+    private final DataSource replica = node("replica");
+
+    @AfterEach
+    void clearPrincipal() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplicaAndWritesToPrimary() {
+        Setup setup = new Setup(Duration.ofMinutes(1));
+
+        assertEquals("replica", setup.nodeName(true));
+        assertEquals("primary", setup.nodeName(false));
+    }
+
+    @Test
+    void readsFollowTheWriterToPrimaryWithinTheLagWindow() {
+        Setup setup = new Setup(Duration.ofMinutes(1));
+
+        signIn("alice");
+        setup.write();
+        assertEquals("primary", setup.nodeName(true));
+
+        signIn("bob");
+        assertEquals("replica", setup.nodeName(true));
+    }
+
+    @Test
+    void readsReturnToReplicaOnceTheWindowHasPassed() {
+        Setup setup = new Setup(Duration.ZERO);
+
+        signIn("alice");
+        setup.write();
+        assertEquals("replica", setup.nodeName(true));
+    }
+
+    private void signIn(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(username, null));
+    }
+
+    private static DataSource node(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:routing_" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        jdbc.execute("DELETE FROM node");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private class Setup {
+        private final JdbcTemplate jdbc;
+        private final TransactionTemplate readOnly;
+        private final TransactionTemplate readWrite;
+
+        Setup(Duration window) {
+            DataSource dataSource = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica, window));
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+            this.jdbc = new JdbcTemplate(dataSource);
+            this.readWrite = new TransactionTemplate(transactionManager);
+            this.readOnly = new TransactionTemplate(transactionManager);
+            this.readOnly.setReadOnly(true);
+        }
+
+        String nodeName(boolean readOnlyTx) {
+            return (readOnlyTx ? readOnly : readWrite).execute(status ->
+                    jdbc.queryForObject("SELECT name FROM node", String.class));
+        }
+
+        void write() {
+            readWrite.executeWithoutResult(status -> jdbc.update("UPDATE node SET name = name"));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.weekly_report.repository;
+
+import com.example.weekly_report.entity.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Insert throughput for the two write-heavy paths. With IDENTITY ids every row was its own
+ * statement (one per notification, three per imported user); with pooled sequences and
+ * hibernate.jdbc.batch_size the statement count drops to a handful of batches plus one
+ * sequence call per 50 ids.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class BatchInsertBenchmarkTests {
+
+    private static final int ROWS = 200;
+
+    // Must match allocationSize on the entities' @SequenceGenerator
+    private static final int ALLOCATION_SIZE = 50;
+
+    // One sequence call per allocation block, plus one more when the block in use is empty or, for
+    // a fresh optimizer, the initial read. The context is shared, so either case can apply.
+    private static final int MIN_SEQUENCE_CALLS = ROWS / ALLOCATION_SIZE;
+    private static final int MAX_SEQUENCE_CALLS = MIN_SEQUENCE_CALLS + 1;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics stats;
+
+    @BeforeEach
+    void setUp() {
+        stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void notificationFanOutIsBatched() {
+        UserAccount sender = new UserAccount("sender", "sender@company.com", "secret123", UserRole.SUPERVISOR);
+        entityManager.persist(sender);
+        List<UserAccount> recipients = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            UserAccount recipient = new UserAccount("recipient" + i, "recipient" + i + "@company.com", "secret123", UserRole.EMPLOYEE);
+            entityManager.persist(recipient);
+            recipients.add(recipient);
+        }
+        entityManager.flush();
+        stats.clear();
+
+        for (UserAccount recipient : recipients) {
+            Notification n = new Notification();
+            n.setSender(sender);
+            n.setRecipient(recipient);
+            n.setSubject("Report Approved");
+            n.setBody("Your weekly report has been approved");
+            entityManager.persist(n);
+        }
+        entityManager.flush();
+
+        // notifications_seq calls plus one batched insert statement
+        assertEquals(ROWS, stats.getEntityInsertCount());
+        assertStatementsBetween(MIN_SEQUENCE_CALLS + 1, MAX_SEQUENCE_CALLS + 1);
+    }
+
+    @Test
+    void bulkUserImportIsBatched() {
+        stats.clear();
+
+        for (int i = 0; i < ROWS; i++) {
+            UserAccount account = new UserAccount("import" + i, "import" + i + "@company.com", "secret123", UserRole.EMPLOYEE);
+            entityManager.persist(account);
+            EmployeeProfile profile = new EmployeeProfile("Imported", "User", "Engineering", "Developer", "EMP-I" + i);
+            profile.setUserAccount(account);
+            entityManager.persist(profile);
+        }
+        entityManager.flush();
+
+        // user_accounts_seq and base_profiles_seq calls plus one batched insert per table
+        // (user_accounts, base_profiles, employee_profiles)
+        assertEquals(2 * ROWS, stats.getEntityInsertCount());
+        assertStatementsBetween(2 * MIN_SEQUENCE_CALLS + 3, 2 * MAX_SEQUENCE_CALLS + 3);
+    }
+
+    private void assertStatementsBetween(long min, long max) {
+        long statements = stats.getPrepareStatementCount();
+        assertTrue(statements >= min && statements <= max,
+                "expected " + min + ".." + max + " statements, got " + statements);
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.weekly_report.repository;
+
+import com.example.weekly_report.dto.ReportFilter;
+import com.example.weekly_report.dto.ReportVersion;
+import com.example.weekly_report.dto.WeeklyReportView;
+import com.example.weekly_report.entity.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class WeeklyReportRepositoryTests {
+
+    @Autowired
+    private WeeklyReportRepository weeklyReportRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void listViewsUsesSingleStatementRegardlessOfRowCount() {
+        SupervisorProfile supervisor = persistSupervisor();
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (int employees : new int[] {1, 10}) {
+            for (int i = 0; i < employees; i++) {
+                persistEmployeeWithReports(supervisor, 3);
+            }
+            entityManager.flush();
+            entityManager.clear();
+            stats.clear();
+
+            List<WeeklyReportView> views = weeklyReportRepository.findAllViews();
+
+            assertEquals(1, stats.getPrepareStatementCount());
+            views.forEach(v -> assertEquals("supervisor", v.getSupervisorUsername()));
+        }
+    }
+
+    @Test
+    void filteredViewsCombineAllCriteriaInOneStatement() {
+        SupervisorProfile supervisor = persistSupervisor();
+        persistEmployeeWithReports(supervisor, 3);
+        persistEmployeeWithReports(null, 3);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        ReportFilter filter = new ReportFilter();
+        filter.setSupervisorId(supervisor.getId());
+        filter.setDepartment("Engineering");
+        filter.setStatus(ReportStatus.DRAFT);
+        filter.setStartDate(LocalDate.of(2024, 1, 8));
+        List<WeeklyReportView> views = weeklyReportRepository.findViews(ReportSpecifications.matching(filter), 0);
+
+        assertEquals(1, stats.getPrepareStatementCount());
+        assertEquals(2, views.size());
+        assertEquals(LocalDate.of(2024, 1, 15), views.get(0).getWeekStartDate());
+        views.forEach(v -> assertEquals("supervisor", v.getSupervisorUsername()));
+    }
+
+    @Test
+    void findByIdLoadsEverythingTheResponseReadsInOneStatement() {
+        persistEmployeeWithReports(persistSupervisor(), 1);
+        entityManager.flush();
+        Long reportId = entityManager.createQuery("SELECT r.id FROM WeeklyReport r", Long.class).getSingleResult();
+        entityManager.clear();
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        WeeklyReport report = weeklyReportRepository.findById(reportId).orElseThrow();
+        entityManager.clear();
+
+        assertEquals("Finished the assigned tasks", report.getAccomplishedTasks());
+        assertEquals(0, report.getAttachments().size());
+        assertEquals("John Manager", report.getEmployee().getSupervisor().getFullName());
+        assertTrue(report.getEmployee().getUserAccount().getUsername().startsWith("employee"));
+        // PdfService falls back to the supervisor's username
+        assertEquals("supervisor", report.getEmployee().getSupervisor().getUserAccount().getUsername());
+        assertEquals(1, stats.getPrepareStatementCount());
+    }
+
+    @Test
+    void detailVersionMovesWhenTheSupervisorsAccountChanges() {
+        SupervisorProfile supervisor = persistSupervisor();
+        persistEmployeeWithReports(supervisor, 1);
+        entityManager.flush();
+        LocalDateTime past = LocalDateTime.now().minusDays(1);
+        for (String table : new String[] {"weekly_reports", "base_profiles", "user_accounts"}) {
+            entityManager.createNativeQuery("UPDATE " + table + " SET updated_at = :past")
+                    .setParameter("past", past).executeUpdate();
+        }
+        entityManager.clear();
+        Long reportId = entityManager.createQuery("SELECT r.id FROM WeeklyReport r", Long.class).getSingleResult();
+        ReportVersion before = weeklyReportRepository.findVersionById(reportId).orElseThrow();
+
+        entityManager.find(UserAccount.class, supervisor.getUserAccount().getId()).setEmail("lead@company.com");
+        entityManager.flush();
+        ReportVersion after = weeklyReportRepository.findVersionById(reportId).orElseThrow();
+
+        assertTrue(after.getLastModified() > before.getLastModified());
+        assertNotEquals(before.getETag(), after.getETag());
+    }
+
+    private SupervisorProfile persistSupervisor() {
+        UserAccount account = new UserAccount("supervisor", "supervisor@company.com", "secret123", UserRole.SUPERVISOR);
+        entityManager.persist(account);
+        SupervisorProfile profile = new SupervisorProfile("John", "Manager", "Engineering", "Team Lead", "SUP-T");
+        profile.setUserAccount(account);
+        entityManager.persist(profile);
+        return profile;
+    }
+
+    private void persistEmployeeWithReports(SupervisorProfile supervisor, int reports) {
+        String name = "employee" + System.nanoTime();
+        UserAccount account = new UserAccount(name, name + "@company.com", "secret123", UserRole.EMPLOYEE);
+        entityManager.persist(account);
+        EmployeeProfile employee = new EmployeeProfile("Employee", "User", "Engineering", "Developer", name);
+        employee.setUserAccount(account);
+        employee.setSupervisor(supervisor);
+        entityManager.persist(employee);
+
+        LocalDate week = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < reports; i++) {
+            WeeklyReport report = new WeeklyReport(week.plusWeeks(i), week.plusWeeks(i).plusDays(6), "Finished the assigned tasks");
+            report.setEmployee(employee);
+            entityManager.persist(report);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.weekly_report.security;
+
+import com.example.weekly_report.entity.EmployeeProfile;
+import com.example.weekly_report.entity.UserAccount;
+import com.example.weekly_report.entity.UserRole;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtServiceTests {
+
+    private static final String SECRET = "d2Vla2x5LXJlcG9ydC10ZXN0LXNpZ25pbmcta2V5LTAxMjM0NTY3ODk=";
+
+    private final UserAccount alice = new UserAccount("alice", "alice@company.com", "secret123", UserRole.EMPLOYEE);
+    private final UserAccount bob = new UserAccount("bob", "bob@company.com", "secret123", UserRole.EMPLOYEE);
+
+    @Test
+    void repeatedRequestsWithTheSameTokenReuseTheVerifiedClaims() {
+        JwtService jwtService = jwtService(60_000L);
+        String token = jwtService.generateToken(alice);
+
+        Claims first = jwtService.verify(token);
+
+        assertEquals("alice", first.getSubject());
+        assertSame(first, jwtService.verify(token));
+        assertTrue(jwtService.isTokenValid(first, alice));
+        assertFalse(jwtService.isTokenValid(first, bob));
+    }
+
+    @Test
+    void tamperedAndExpiredTokensAreRejected() {
+        JwtService jwtService = jwtService(60_000L);
+        String token = jwtService.generateToken(alice);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtService.verify(tampered));
+
+        JwtService expiring = jwtService(-1_000L);
+        assertThrows(ExpiredJwtException.class, () -> expiring.verify(expiring.generateToken(alice)));
+    }
+
+    @Test
+    void statelessPrincipalIsRebuiltFromSignedClaims() {
+        JwtService jwtService = jwtService(60_000L);
+        EmployeeProfile profile = new EmployeeProfile();
+        profile.setId(42L);
+        alice.setId(7L);
+        alice.setProfile(profile);
+        alice.revokeTokens();
+
+        Claims claims = jwtService.verify(jwtService.generateToken(alice));
+        UserAccount principal = jwtService.toPrincipal(claims);
+
+        assertTrue(jwtService.hasIdentityClaims(claims));
+        assertEquals(7L, principal.getId());
+        assertEquals("alice", principal.getUsername());
+        assertEquals(UserRole.EMPLOYEE, principal.getRole());
+        assertEquals(42L, principal.getProfile().getId());
+        assertEquals(1, principal.getTokenVersion());
+    }
+
+    private JwtService jwtService(long expirationMillis) {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", expirationMillis);
+        ReflectionTestUtils.setField(jwtService, "verifiedCacheMaxSize", 100L);
+        jwtService.init();
+        return jwtService;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.weekly_report.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.embedded.EmbeddedWebServerFactoryCustomizerAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the filter in the real embedded Tomcat with the application's forward-headers settings, so
+ * the per-IP bucket is keyed on the client address the load balancer forwards.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        classes = LoginRateLimitFilterTests.TestApp.class,
+        properties = {
+                "app.security.rate-limit.ip.capacity=2",
+                "app.security.rate-limit.account.capacity=100"
+        })
+class LoginRateLimitFilterTests {
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void clientsBehindTheLoadBalancerGetTheirOwnIpBucket() throws Exception {
+        assertEquals(200, login("203.0.113.7", "alice"));
+        assertEquals(200, login("203.0.113.7", "bob"));
+        assertEquals(429, login("203.0.113.7", "carol"));
+
+        // Same proxy, different client: unaffected
+        assertEquals(200, login("198.51.100.23", "dave"));
+        // The last hop is the trusted proxy; the client is the address before it
+        assertEquals(429, login("203.0.113.7, 10.0.0.5", "erin"));
+    }
+
+    @Test
+    void bufferedLoginBodyStillReachesTheController() throws Exception {
+        HttpResponse<String> response = client.send(request("192.0.2.1", "frank"), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("frank", response.body());
+    }
+
+    private int login(String forwardedFor, String username) throws Exception {
+        return client.send(request(forwardedFor, username), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpRequest request(String forwardedFor, String username) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .header("X-Forwarded-For", forwardedFor)
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"" + username + "\",\"password\":\"secret123\"}"))
+                .build();
+    }
+
+    @Configuration
+    @ImportAutoConfiguration({
+            PropertyPlaceholderAutoConfiguration.class,
+            ServletWebServerFactoryAutoConfiguration.class,
+            EmbeddedWebServerFactoryCustomizerAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class,
+            HttpMessageConvertersAutoConfiguration.class,
+            JacksonAutoConfiguration.class
+    })
+    @Import({LoginRateLimiter.class, LoginRateLimitFilter.class, TestApp.LoginStub.class})
+    static class TestApp {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @RestController
+        static class LoginStub {
+            @PostMapping("/auth/login")
+            String login(@RequestBody Map<String, String> body) {
+                return body.get("username");
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.weekly_report.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginRateLimiterTests {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    void accountBucketRefillsOverTimeAndFailuresDrainItFaster() {
+        LoginRateLimiter limiter = limiter(100);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("10.0.0.1", "login:alice"));
+        }
+        assertTrue(limiter.tryAcquire("10.0.0.1", "login:alice") > 0);
+        // Same IP, different account still has budget
+        assertEquals(0, limiter.tryAcquire("10.0.0.1", "login:bob"));
+
+        nanos.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertEquals(0, limiter.tryAcquire("10.0.0.2", "login:alice"));
+
+        nanos.addAndGet(Duration.ofSeconds(60).toNanos());
+        limiter.recordFailure("login:bob");
+        limiter.recordFailure("login:bob");
+        assertEquals(0, limiter.tryAcquire("10.0.0.3", "login:bob"));
+        assertTrue(limiter.tryAcquire("10.0.0.3", "login:bob") > 0);
+    }
+
+    @Test
+    void keysAreBoundedAndIdleOnesExpire() {
+        LoginRateLimiter limiter = limiter(50);
+
+        for (int i = 0; i < 500; i++) {
+            limiter.tryAcquire("10.0.0.1", "login:user" + i);
+        }
+        assertTrue(limiter.trackedKeys() <= 50);
+
+        nanos.addAndGet(Duration.ofMinutes(20).toNanos());
+        assertEquals(0, limiter.trackedKeys());
+    }
+
+    @Test
+    void filterRejectsBeforeTheControllerAndReplaysTheBody() throws Exception {
+        LoginRateLimitFilter filter = new LoginRateLimitFilter();
+        ReflectionTestUtils.setField(filter, "loginRateLimiter", limiter(100));
+        ReflectionTestUtils.setField(filter, "objectMapper", new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(filter, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        String body = "{\"username\":\"Alice\",\"password\":\"wrong\"}";
+
+        for (int i = 0; i < 3; i++) {
+            MockFilterChain chain = new MockFilterChain();
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(login(body), response, chain);
+            assertEquals(body, new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(login(body.replace("Alice", "alice")), response, chain);
+
+        assertEquals(429, response.getStatus());
+        assertEquals("30", response.getHeader("Retry-After"));
+        assertNull(chain.getRequest());
+    }
+
+    private MockHttpServletRequest login(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setServletPath("/auth/login");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private LoginRateLimiter limiter(long maxKeys) {
+        return new LoginRateLimiter(new SimpleMeterRegistry(),
+                new LoginRateLimiter.Limit(10, Duration.ofSeconds(1)),
+                new LoginRateLimiter.Limit(3, Duration.ofSeconds(30)),
+                1, maxKeys, Duration.ofMinutes(15), nanos::get);
+    }
+}
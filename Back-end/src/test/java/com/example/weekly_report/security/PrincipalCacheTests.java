@@ -0,0 +1,32 @@
+package com.example.weekly_report.security;
+
+import com.example.weekly_report.entity.UserAccount;
+import com.example.weekly_report.entity.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PrincipalCacheTests {
+
+    @Test
+    void principalIsLoadedOnceUntilInvalidated() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PrincipalCache cache = new PrincipalCache(registry, Duration.ofMinutes(1), 100);
+        AtomicInteger loads = new AtomicInteger();
+        UserAccount account = new UserAccount("alice", "alice@company.com", "secret123", UserRole.EMPLOYEE);
+
+        for (int i = 0; i < 3; i++) {
+            cache.get("alice", username -> { loads.incrementAndGet(); return account; });
+        }
+        assertEquals(1, loads.get());
+        assertEquals(2.0, registry.get("cache.gets").tag("cache", "principals").tag("result", "hit").functionCounter().count());
+
+        cache.invalidate("alice");
+        cache.get("alice", username -> { loads.incrementAndGet(); return account; });
+        assertEquals(2, loads.get());
+    }
+}
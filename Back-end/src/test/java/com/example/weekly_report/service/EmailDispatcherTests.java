@@ -0,0 +1,205 @@
+package com.example.weekly_report.service;
+
+import com.example.weekly_report.entity.EmailOutbox;
+import com.example.weekly_report.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Not transactional: the dispatcher commits its claim and its results in separate transactions
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailDispatcherTests {
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private SmtpStandIn smtp;
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        emailOutboxRepository.deleteAll();
+        if (smtp != null) {
+            smtp.close();
+        }
+    }
+
+    @Test
+    void batchGoesOutOverOneConnectionWithoutATransactionAndBouncesRetryThenDeadLetter() throws IOException {
+        smtp = new SmtpStandIn();
+        AtomicBoolean sentInsideTransaction = new AtomicBoolean();
+        EmailDispatcher dispatcher = dispatcher(smtp.port(), sentInsideTransaction);
+        Long first = emailOutboxRepository.save(new EmailOutbox("a@company.com", "Code", "123456")).getId();
+        Long second = emailOutboxRepository.save(new EmailOutbox("b@company.com", "Code", "654321")).getId();
+        Long bounce = emailOutboxRepository.save(new EmailOutbox("bounce@company.com", "Code", "111111")).getId();
+
+        assertEquals(2, dispatcher.dispatch());
+
+        assertFalse(sentInsideTransaction.get());
+        assertEquals(1, smtp.connections.get());
+        assertTrue(smtp.delivered.containsAll(List.of("<a@company.com>", "<b@company.com>")));
+        assertEquals(EmailOutbox.Status.SENT, reload(first).getStatus());
+        assertEquals("", reload(second).getBody());
+        EmailOutbox bounced = reload(bounce);
+        assertEquals(EmailOutbox.Status.PENDING, bounced.getStatus());
+        assertEquals(1, bounced.getAttempts());
+        assertTrue(bounced.getNextAttemptAt().isAfter(LocalDateTime.now()));
+
+        // Not due yet: nothing is claimed
+        assertEquals(0, dispatcher.dispatch());
+
+        bounced.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        emailOutboxRepository.save(bounced);
+        assertEquals(0, dispatcher.dispatch());
+        bounced = reload(bounce);
+        assertEquals(EmailOutbox.Status.DEAD, bounced.getStatus());
+        assertEquals(2, bounced.getAttempts());
+    }
+
+    @Test
+    void inFlightRowsAreReclaimedOnceTheirLeaseExpires() throws IOException {
+        smtp = new SmtpStandIn();
+        EmailOutbox stranded = new EmailOutbox("a@company.com", "Code", "123456");
+        stranded.setStatus(EmailOutbox.Status.IN_FLIGHT);
+        stranded.setNextAttemptAt(LocalDateTime.now().plusMinutes(1));
+        Long id = emailOutboxRepository.save(stranded).getId();
+        EmailDispatcher dispatcher = dispatcher(smtp.port(), new AtomicBoolean());
+
+        assertEquals(0, dispatcher.dispatch());
+
+        stranded = reload(id);
+        stranded.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        emailOutboxRepository.save(stranded);
+        assertEquals(1, dispatcher.dispatch());
+        assertEquals(EmailOutbox.Status.SENT, reload(id).getStatus());
+    }
+
+    private EmailOutbox reload(Long id) {
+        return emailOutboxRepository.findById(id).orElseThrow();
+    }
+
+    private EmailDispatcher dispatcher(int port, AtomicBoolean sentInsideTransaction) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl() {
+            @Override
+            protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+                sentInsideTransaction.compareAndSet(false, TransactionSynchronizationManager.isActualTransactionActive());
+                super.doSend(mimeMessages, originalMessages);
+            }
+        };
+        mailSender.setHost("localhost");
+        mailSender.setPort(port);
+        EmailDispatcher dispatcher = new EmailDispatcher();
+        ReflectionTestUtils.setField(dispatcher, "emailOutboxRepository", emailOutboxRepository);
+        ReflectionTestUtils.setField(dispatcher, "mailSender", mailSender);
+        ReflectionTestUtils.setField(dispatcher, "transactionTemplate", new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(dispatcher, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(dispatcher, "from", "noreply@company.com");
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 50);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 2);
+        ReflectionTestUtils.setField(dispatcher, "backoff", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(dispatcher, "maxBackoff", Duration.ofHours(1));
+        ReflectionTestUtils.setField(dispatcher, "lease", Duration.ofMinutes(5));
+        return dispatcher;
+    }
+
+    /** Minimal in-process SMTP server: accepts everything except recipients containing "bounce". */
+    private static class SmtpStandIn implements AutoCloseable {
+        private final ServerSocket server = new ServerSocket(0);
+        private final List<String> delivered = new CopyOnWriteArrayList<>();
+        private final AtomicInteger connections = new AtomicInteger();
+
+        SmtpStandIn() throws IOException {
+            Thread thread = new Thread(this::serve, "smtp-stand-in");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        int port() {
+            return server.getLocalPort();
+        }
+
+        private void serve() {
+            while (!server.isClosed()) {
+                try (Socket socket = server.accept()) {
+                    connections.incrementAndGet();
+                    converse(socket);
+                } catch (IOException e) {
+                    // closed by the test
+                }
+            }
+        }
+
+        private void converse(Socket socket) throws IOException {
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII);
+            reply(out, "220 stand-in");
+            String recipient = null;
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.toUpperCase();
+                if (command.startsWith("RCPT TO:")) {
+                    if (command.contains("BOUNCE")) {
+                        reply(out, "550 no such user");
+                    } else {
+                        recipient = line.substring(8).trim();
+                        reply(out, "250 ok");
+                    }
+                } else if (command.startsWith("DATA")) {
+                    reply(out, "354 go ahead");
+                    while ((line = in.readLine()) != null && !line.equals(".")) {
+                        // message content is not inspected
+                    }
+                    delivered.add(recipient);
+                    reply(out, "250 queued");
+                } else if (command.startsWith("QUIT")) {
+                    reply(out, "221 bye");
+                    return;
+                } else {
+                    reply(out, "250 ok");
+                }
+            }
+        }
+
+        private void reply(Writer out, String line) throws IOException {
+            out.write(line + "\r\n");
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            server.close();
+        }
+    }
+}
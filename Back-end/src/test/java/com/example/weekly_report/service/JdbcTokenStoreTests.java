@@ -0,0 +1,54 @@
+package com.example.weekly_report.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JdbcTokenStoreTests {
+
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(
+            new DriverManagerDataSource("jdbc:h2:mem:auth_tokens;DB_CLOSE_DELAY=-1", "sa", ""));
+
+    @Test
+    void codeIssuedOnOneNodeVerifiesOnAnotherExactlyOnce() throws Exception {
+        JdbcTokenStore nodeA = store();
+        JdbcTokenStore nodeB = store();
+
+        nodeA.put("2fa:7", "123456", Instant.now().plusSeconds(300));
+
+        assertFalse(nodeB.takeIfMatches("2fa:7", "654321"));
+        assertTrue(nodeB.takeIfMatches("2fa:7", "123456"));
+        assertFalse(nodeA.takeIfMatches("2fa:7", "123456"));
+
+        nodeA.put("reset:abc", "alice", Instant.now().plusSeconds(300));
+        assertEquals("alice", nodeB.take("reset:abc"));
+        assertNull(nodeA.take("reset:abc"));
+    }
+
+    @Test
+    void expiredRowsAreUnusableAndSweptInBulk() throws Exception {
+        JdbcTokenStore store = store();
+        jdbcTemplate.update("DELETE FROM auth_tokens");
+
+        store.put("reset:old", "alice", Instant.now().minusSeconds(1));
+        store.put("reset:new", "bob", Instant.now().plusSeconds(300));
+
+        assertNull(store.take("reset:old"));
+        store.put("reset:old", "alice", Instant.now().minusSeconds(1));
+        assertEquals(1, store.sweepExpired());
+        assertEquals(1, store.size());
+    }
+
+    private JdbcTokenStore store() throws Exception {
+        JdbcTokenStore store = new JdbcTokenStore(jdbcTemplate, 100);
+        store.createTable();
+        return store;
+    }
+}
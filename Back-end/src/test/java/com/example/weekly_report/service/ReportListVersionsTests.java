@@ -0,0 +1,66 @@
+package com.example.weekly_report.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Not transactional: versions are bumped only after the surrounding change commits
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(ReportListVersions.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReportListVersionsTests {
+
+    @Autowired
+    private ReportListVersions reportListVersions;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM report_list_versions");
+    }
+
+    @Test
+    void reportChangesBumpOnlyTheScopesThatListTheReport() {
+        assertEquals("0.0.0.0", reportListVersions.current("a", "s1", "e2", "e3"));
+
+        reportListVersions.reportChanged(2L, 1L);
+        reportListVersions.reportChanged(3L, null);
+        reportListVersions.reportsChanged(List.of(new Long[] {2L, 1L}, new Long[] {4L, 1L}));
+
+        assertEquals("3.2.2.1.1", reportListVersions.current("a", "s1", "e2", "e3", "e4"));
+        assertEquals("0", reportListVersions.current(ReportListVersions.PROFILES));
+    }
+
+    @Test
+    void bumpsApplyAfterCommitAndNotOnRollback() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            reportListVersions.profilesChanged();
+            assertEquals("0", reportListVersions.current(ReportListVersions.PROFILES));
+        });
+        assertEquals("1", reportListVersions.current(ReportListVersions.PROFILES));
+
+        transaction.executeWithoutResult(status -> {
+            reportListVersions.profilesChanged();
+            status.setRollbackOnly();
+        });
+        assertEquals("1", reportListVersions.current(ReportListVersions.PROFILES));
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.weekly_report.service;
+
+import com.example.weekly_report.config.CacheConfig;
+import com.example.weekly_report.dto.BulkReviewResult;
+import com.example.weekly_report.dto.CreateReportRequest;
+import com.example.weekly_report.entity.*;
+import com.example.weekly_report.repository.EmployeeProfileRepository;
+import com.example.weekly_report.repository.ReportRevisionRepository;
+import com.example.weekly_report.repository.SupervisorProfileRepository;
+import com.example.weekly_report.repository.UserAccountRepository;
+import com.example.weekly_report.repository.WeeklyReportRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Not transactional: cache evictions are only applied once the review commits, and responses are
+// serialized after the service transaction has closed, as with open-in-view disabled
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(ReportListVersions.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReportServiceTests {
+
+    @Autowired
+    private WeeklyReportRepository weeklyReportRepository;
+
+    @Autowired
+    private EmployeeProfileRepository employeeProfileRepository;
+
+    @Autowired
+    private SupervisorProfileRepository supervisorProfileRepository;
+
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+
+    @Autowired
+    private ReportRevisionRepository reportRevisionRepository;
+
+    @Autowired
+    private ReportListVersions reportListVersions;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Object[]> transitions = new ArrayList<>();
+    private final List<NotificationService.Draft> notifications = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        reportRevisionRepository.deleteAll();
+        weeklyReportRepository.deleteAll();
+        employeeProfileRepository.deleteAll();
+        supervisorProfileRepository.deleteAll();
+        userAccountRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM report_list_versions");
+    }
+
+    @Test
+    void snippetEscapesReportTextButKeepsHighlights() {
+        String headline = "Fixed <img src=x onerror=alert(1)> in the " +
+                WeeklyReportRepository.SNIPPET_START + "login" + WeeklyReportRepository.SNIPPET_STOP + " & \"signup\" forms";
+
+        assertEquals("Fixed &lt;img src=x onerror=alert(1)&gt; in the <mark>login</mark> &amp; &quot;signup&quot; forms",
+                ReportService.toSnippetHtml(headline));
+    }
+
+    @Test
+    void bulkApproveOnlyTransitionsSubmittedReportsOnTheTeamAndEvictsAfterCommit() {
+        SupervisorProfile supervisor = supervisor("lead");
+        SupervisorProfile otherSupervisor = supervisor("other-lead");
+        EmployeeProfile employee = employee("alice", supervisor);
+        EmployeeProfile outsider = employee("bob", otherSupervisor);
+        Long first = report(employee, 0, ReportStatus.SUBMITTED);
+        Long second = report(employee, 1, ReportStatus.SUBMITTED);
+        Long draft = report(employee, 2, ReportStatus.DRAFT);
+        Long approved = report(employee, 3, ReportStatus.APPROVED);
+        Long otherTeam = report(outsider, 0, ReportStatus.SUBMITTED);
+
+        CacheManager cacheManager = new CacheConfig().cacheManager(List.of(CacheConfig.REPORT_VIEWS), "");
+        Cache views = cacheManager.getCache(CacheConfig.REPORT_VIEWS);
+        views.put(first, "stale");
+        views.put(draft, "current");
+        ReportService reportService = reportService(cacheManager);
+
+        List<BulkReviewResult> results = new TransactionTemplate(transactionManager).execute(status -> {
+            List<BulkReviewResult> outcome = reportService.bulkReview(
+                    List.of(first, draft, approved, otherTeam, 999_999L, second), ReportStatus.APPROVED,
+                    "Good work", supervisor.getId(), supervisor.getUserAccount().getId(), "lead");
+            assertNotNull(views.get(first));
+            return outcome;
+        });
+
+        assertEquals(List.of(first, draft, approved, otherTeam, 999_999L, second),
+                results.stream().map(BulkReviewResult::getReportId).toList());
+        assertEquals(List.of("APPROVED", "INVALID_STATUS", "INVALID_STATUS", "FORBIDDEN", "NOT_FOUND", "APPROVED"),
+                results.stream().map(BulkReviewResult::getOutcome).toList());
+        WeeklyReport reviewed = weeklyReportRepository.findById(first).orElseThrow();
+        assertEquals(ReportStatus.APPROVED, reviewed.getStatus());
+        assertNotNull(reviewed.getReviewedAt());
+        assertEquals("Good work", reviewed.getSupervisorFeedback());
+        assertEquals(ReportStatus.APPROVED, weeklyReportRepository.findById(second).orElseThrow().getStatus());
+        assertEquals(ReportStatus.DRAFT, weeklyReportRepository.findById(draft).orElseThrow().getStatus());
+        assertNull(weeklyReportRepository.findById(draft).orElseThrow().getSupervisorFeedback());
+        assertEquals(ReportStatus.SUBMITTED, weeklyReportRepository.findById(otherTeam).orElseThrow().getStatus());
+        assertEquals(2, transitions.size());
+        assertEquals(2, notifications.size());
+        assertNull(views.get(first));
+        assertNotNull(views.get(draft));
+        assertEquals("1.1.1.0", reportListVersions.current("a",
+                ReportListVersions.supervisorScope(supervisor.getId()), ReportListVersions.employeeScope(employee.getId()),
+                ReportListVersions.employeeScope(outsider.getId())));
+    }
+
+    @Test
+    void bulkRejectSkipsReportsAlreadyReviewed() {
+        SupervisorProfile supervisor = supervisor("lead");
+        EmployeeProfile employee = employee("alice", supervisor);
+        Long submitted = report(employee, 0, ReportStatus.SUBMITTED);
+        Long rejected = report(employee, 1, ReportStatus.REJECTED);
+        ReportService reportService = reportService(new CacheConfig().cacheManager(List.of(CacheConfig.REPORT_VIEWS), ""));
+
+        List<BulkReviewResult> results = new TransactionTemplate(transactionManager).execute(status ->
+                reportService.bulkReview(List.of(submitted, rejected), ReportStatus.REJECTED, null,
+                        null, supervisor.getUserAccount().getId(), "admin"));
+
+        assertEquals(List.of("REJECTED", "INVALID_STATUS"), results.stream().map(BulkReviewResult::getOutcome).toList());
+        assertEquals(ReportStatus.REJECTED, weeklyReportRepository.findById(submitted).orElseThrow().getStatus());
+        assertEquals(1, notifications.size());
+    }
+
+    @Test
+    void updatedReportSerializesAfterTheTransactionCloses() throws Exception {
+        EmployeeProfile employee = employee("alice", supervisor("lead"));
+        Long id = report(employee, 0, ReportStatus.DRAFT);
+        ReportService reportService = reportService(new CacheConfig().cacheManager(List.of(CacheConfig.REPORT_VIEWS), ""));
+        RevisionService revisionService = new RevisionService();
+        ReflectionTestUtils.setField(revisionService, "reportRevisionRepository", reportRevisionRepository);
+        ReflectionTestUtils.setField(revisionService, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(revisionService, "checkpointInterval", 20);
+        ReflectionTestUtils.setField(reportService, "revisionService", revisionService);
+        CreateReportRequest request = new CreateReportRequest();
+        request.setWeekStartDate(LocalDate.of(2024, 1, 1));
+        request.setWeekEndDate(LocalDate.of(2024, 1, 7));
+        request.setAccomplishedTasks("Finished the assigned tasks and the review");
+        request.setHoursWorked(40.0);
+
+        WeeklyReport updated = new TransactionTemplate(transactionManager).execute(status ->
+                reportService.updateReport(id, request, employee.getId()));
+
+        String json = new ObjectMapper().findAndRegisterModules().writeValueAsString(updated);
+        assertTrue(json.contains("\"accomplishedTasks\":\"Finished the assigned tasks and the review\""));
+        assertTrue(json.contains("\"attachments\":[]"));
+    }
+
+    private ReportService reportService(CacheManager cacheManager) {
+        ReportService reportService = new ReportService();
+        ReflectionTestUtils.setField(reportService, "weeklyReportRepository", weeklyReportRepository);
+        ReflectionTestUtils.setField(reportService, "cacheManager", cacheManager);
+        ReflectionTestUtils.setField(reportService, "reportListVersions", reportListVersions);
+        ReflectionTestUtils.setField(reportService, "complianceService", new ComplianceService() {
+            @Override
+            public void recordTransitions(List<Object[]> reports, ReportStatus from, ReportStatus to) {
+                transitions.addAll(reports);
+            }
+
+            @Override
+            public void recordWeekChange(WeeklyReport report, LocalDate previousWeekStart) {
+            }
+        });
+        ReflectionTestUtils.setField(reportService, "notificationService", new NotificationService() {
+            @Override
+            public void sendBatch(List<Draft> drafts) {
+                notifications.addAll(drafts);
+            }
+        });
+        return reportService;
+    }
+
+    private SupervisorProfile supervisor(String username) {
+        UserAccount account = userAccountRepository.save(
+                new UserAccount(username, username + "@company.com", "secret123", UserRole.SUPERVISOR));
+        SupervisorProfile profile = new SupervisorProfile("Team", "Lead", "Engineering", "Team Lead", "SUP-" + username);
+        profile.setUserAccount(account);
+        return supervisorProfileRepository.save(profile);
+    }
+
+    private EmployeeProfile employee(String username, SupervisorProfile supervisor) {
+        UserAccount account = userAccountRepository.save(
+                new UserAccount(username, username + "@company.com", "secret123", UserRole.EMPLOYEE));
+        EmployeeProfile profile = new EmployeeProfile("Employee", "User", "Engineering", "Developer", "EMP-" + username);
+        profile.setUserAccount(account);
+        profile.setSupervisor(supervisor);
+        return employeeProfileRepository.save(profile);
+    }
+
+    private Long report(EmployeeProfile employee, int week, ReportStatus status) {
+        LocalDate start = LocalDate.of(2024, 1, 1).plusWeeks(week);
+        WeeklyReport report = new WeeklyReport(start, start.plusDays(6), "Finished the assigned tasks");
+        report.setEmployee(employee);
+        report.setStatus(status);
+        return weeklyReportRepository.save(report).getId();
+    }
+}
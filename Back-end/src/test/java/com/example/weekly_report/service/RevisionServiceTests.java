@@ -0,0 +1,94 @@
+package com.example.weekly_report.service;
+
+import com.example.weekly_report.entity.ReportRevision;
+import com.example.weekly_report.entity.WeeklyReport;
+import com.example.weekly_report.repository.ReportRevisionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class RevisionServiceTests {
+
+    @Autowired
+    private ReportRevisionRepository reportRevisionRepository;
+
+    @Test
+    void deltaStoresOnlyTheEditedSpanAndReplaysExactly() {
+        String before = "Finished the login page. Started on the dashboard charts.";
+        String after = "Finished the login page and tests. Started on the dashboard charts.";
+
+        Map<String, Object> edit = RevisionService.diff(before, after);
+
+        assertEquals(" and tests", edit.get("t"));
+        assertEquals(after, RevisionService.patch(before, edit));
+    }
+
+    @Test
+    void deltaHandlesNullsAndRepeatedCharacters() {
+        assertEquals("new", RevisionService.patch(null, RevisionService.diff(null, "new")));
+        assertNull(RevisionService.patch("old", RevisionService.diff("old", null)));
+        assertEquals("aaa", RevisionService.patch("aa", RevisionService.diff("aa", "aaa")));
+        assertEquals("a", RevisionService.patch("aaa", RevisionService.diff("aaa", "a")));
+    }
+
+    @Test
+    void deltaNeverSplitsSurrogatePairs() {
+        // U+1F44D and U+1F44E share their high surrogate; U+1F600 and U+1F680 share their low one
+        Map<String, Object> edit = RevisionService.diff("Demo 👍", "Demo 👎");
+        assertEquals("👎", edit.get("t"));
+        assertEquals("Demo 👎", RevisionService.patch("Demo 👍", edit));
+
+        edit = RevisionService.diff("😀 done", "🚀 done");
+        assertEquals("🚀", edit.get("t"));
+    }
+
+    @Test
+    void pastRevisionsAreRebuiltFromCheckpointsAndDeltas() {
+        RevisionService revisionService = new RevisionService();
+        ReflectionTestUtils.setField(revisionService, "reportRevisionRepository", reportRevisionRepository);
+        ReflectionTestUtils.setField(revisionService, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(revisionService, "checkpointInterval", 3);
+
+        WeeklyReport report = new WeeklyReport();
+        report.setId(100L);
+        report.setAccomplishedTasks("Set up the project.");
+        report.setHoursWorked(8.0);
+        List<Map<String, String>> history = new ArrayList<>();
+        revisionService.recordCreated(report, 1L);
+        history.add(revisionService.captureFields(report));
+
+        String[] edits = {
+            "Set up the project and CI.",
+            "Set up the project and CI 👍",
+            "Set up the project and CI 👎",
+            "Set up CI 👎",
+            null
+        };
+        for (String text : edits) {
+            Map<String, String> before = revisionService.captureFields(report);
+            report.setAccomplishedTasks(text);
+            report.setNextWeekPlans(text != null ? "Plan " + history.size() : "Wrap up");
+            revisionService.recordUpdate(report, before, 1L);
+            history.add(revisionService.captureFields(report));
+        }
+
+        List<ReportRevision> stored = reportRevisionRepository.findRange(100L, 1, history.size());
+        assertEquals(history.size(), stored.size());
+        assertEquals(ReportRevision.Kind.SNAPSHOT, stored.get(3).getKind());
+        assertEquals(ReportRevision.Kind.DELTA, stored.get(5).getKind());
+        for (int revision = 1; revision <= history.size(); revision++) {
+            assertEquals(history.get(revision - 1), revisionService.getRevision(100L, revision));
+        }
+        assertNull(revisionService.getRevision(100L, history.size() + 1));
+    }
+}
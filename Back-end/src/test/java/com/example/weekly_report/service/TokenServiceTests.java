@@ -0,0 +1,53 @@
+package com.example.weekly_report.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenServiceTests {
+
+    @Test
+    void twoFactorCodeSurvivesWrongGuessesAndWorksOnce() {
+        TokenService tokenService = tokenService(new InMemoryTokenStore(new SimpleMeterRegistry(), 100));
+        String code = tokenService.createTwoFactorCode(7L, 300);
+        String wrong = code.equals("123456") ? "654321" : "123456";
+
+        assertFalse(tokenService.verifyTwoFactorCode(7L, wrong));
+        assertTrue(tokenService.verifyTwoFactorCode(7L, code));
+        assertFalse(tokenService.verifyTwoFactorCode(7L, code));
+    }
+
+    @Test
+    void expiredEntriesAreNeverReturnedAndCapacityIsBounded() {
+        InMemoryTokenStore store = new InMemoryTokenStore(new SimpleMeterRegistry(), 10);
+        TokenService tokenService = tokenService(store);
+
+        String expired = tokenService.createPasswordResetToken("alice", 0);
+        assertNull(tokenService.consumePasswordResetToken(expired));
+
+        for (int i = 0; i < 50; i++) {
+            store.put("key" + i, "value", Instant.now().plusSeconds(300));
+        }
+        tokenService.sweepExpired();
+        assertTrue(store.size() <= 10);
+
+        String reset = tokenService.createPasswordResetToken("bob", 300);
+        assertEquals("bob", tokenService.consumePasswordResetToken(reset));
+        assertNull(tokenService.consumePasswordResetToken(reset));
+    }
+
+    private TokenService tokenService(TokenStore store) {
+        TokenService tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "tokenStore", store);
+        ReflectionTestUtils.setField(tokenService, "meterRegistry", new SimpleMeterRegistry());
+        tokenService.registerMetrics();
+        return tokenService;
+    }
+}
@@ -5,6 +5,7 @@ import { adminAPI, reportsAPI } from '../../services/api';
 const AdminDashboard = () => {
   const [dashboardData, setDashboardData] = useState(null);
   const [reports, setReports] = useState([]);
+  const [reportStats, setReportStats] = useState(null);
   const [loading, setLoading] = useState(true);
 
   useEffect(() => {
@@ -23,9 +24,13 @@ const AdminDashboard = () => {
 
   const fetchReports = async () => {
     try {
-      const response = await reportsAPI.getReports();
-      const data = Array.isArray(response.data) ? response.data : [];
-      setReports(data);
+      const [statsResponse, recentResponse] = await Promise.all([
+        reportsAPI.getStats(),
+        reportsAPI.getReports({ limit: 10, view: 'summary' }),
+      ]);
+      setReportStats(statsResponse.data);
+      const items = recentResponse.data?.items;
+      setReports(Array.isArray(items) ? items : []);
     } catch (error) {
       console.error('Error fetching reports:', error);
     } finally {
@@ -162,30 +167,30 @@ const AdminDashboard = () => {
             <div className="space-y-4">
               <div className="flex justify-between items-center">
                 <span className="text-base text-gray-600">Total Reports</span>
-                <span className="text-xl font-semibold text-gray-900">{(Array.isArray(reports) ? reports : []).length}</span>
+                <span className="text-xl font-semibold text-gray-900">{reportStats?.total || 0}</span>
               </div>
               <div className="flex justify-between items-center">
                 <span className="text-base text-gray-600">Draft</span>
                 <span className="text-xl font-semibold text-yellow-600">
-                  {(Array.isArray(reports) ? reports : []).filter(r => r.status === 'DRAFT').length}
+                  {reportStats?.countsByStatus?.DRAFT || 0}
                 </span>
               </div>
               <div className="flex justify-between items-center">
                 <span className="text-sm text-gray-600">Submitted</span>
                 <span className="text-xl font-semibold text-blue-600">
-                  {(Array.isArray(reports) ? reports : []).filter(r => r.status === 'SUBMITTED').length}
+                  {reportStats?.countsByStatus?.SUBMITTED || 0}
                 </span>
               </div>
               <div className="flex justify-between items-center">
                 <span className="text-base text-gray-600">Approved</span>
                 <span className="text-xl font-semibold text-green-600">
-                  {(Array.isArray(reports) ? reports : []).filter(r => r.status === 'APPROVED').length}
+                  {reportStats?.countsByStatus?.APPROVED || 0}
                 </span>
               </div>
               <div className="flex justify-between items-center">
                 <span className="text-base text-gray-600">Rejected</span>
                 <span className="text-xl font-semibold text-red-600">
-                  {(Array.isArray(reports) ? reports : []).filter(r => r.status === 'REJECTED').length}
+                  {reportStats?.countsByStatus?.REJECTED || 0}
                 </span>
               </div>
             </div>
@@ -18,17 +18,21 @@ const EmployeeDashboard = () => {
 
   const fetchReports = async () => {
     try {
-      const response = await reportsAPI.getReports();
-      const reportsData = Array.isArray(response.data) ? response.data : [];
-      setReports(reportsData);
+      const [statsResponse, recentResponse] = await Promise.all([
+        reportsAPI.getStats(),
+        reportsAPI.getReports({ limit: 5, view: 'summary' }),
+      ]);
+      const items = recentResponse.data?.items;
+      setReports(Array.isArray(items) ? items : []);
       
-      // Calculate stats
-      const total = reportsData.length;
-      const submitted = reportsData.filter(r => r.status === 'SUBMITTED').length;
-      const approved = reportsData.filter(r => r.status === 'APPROVED').length;
-      const pending = reportsData.filter(r => r.status === 'DRAFT').length;
-      
-      setStats({ total, submitted, approved, pending });
+      // Counts are aggregated server-side
+      const counts = statsResponse.data?.countsByStatus || {};
+      setStats({
+        total: statsResponse.data?.total || 0,
+        submitted: counts.SUBMITTED || 0,
+        approved: counts.APPROVED || 0,
+        pending: counts.DRAFT || 0,
+      });
     } catch (error) {
       console.error('Error fetching reports:', error);
     } finally {
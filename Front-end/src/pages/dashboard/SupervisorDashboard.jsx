@@ -20,17 +20,21 @@ const SupervisorDashboard = () => {
 
   const fetchReports = async () => {
     try {
-      const response = await reportsAPI.getReports();
-      const reportsData = Array.isArray(response.data) ? response.data : [];
-      setReports(reportsData);
+      const [statsResponse, recentResponse] = await Promise.all([
+        reportsAPI.getStats(),
+        reportsAPI.getReports({ limit: 5, view: 'summary' }),
+      ]);
+      const items = recentResponse.data?.items;
+      setReports(Array.isArray(items) ? items : []);
       
-      // Calculate stats
-      const total = reportsData.length;
-      const pending = reportsData.filter(r => r.status === 'SUBMITTED').length;
-      const approved = reportsData.filter(r => r.status === 'APPROVED').length;
-      const rejected = reportsData.filter(r => r.status === 'REJECTED').length;
-      
-      setStats({ total, pending, approved, rejected });
+      // Counts are aggregated server-side
+      const counts = statsResponse.data?.countsByStatus || {};
+      setStats({
+        total: statsResponse.data?.total || 0,
+        pending: counts.SUBMITTED || 0,
+        approved: counts.APPROVED || 0,
+        rejected: counts.REJECTED || 0,
+      });
     } catch (error) {
       console.error('Error fetching reports:', error);
     } finally {
@@ -18,7 +18,7 @@ const ReportList = () => {
 
   const fetchReports = async (params = {}) => {
     try {
-      const response = await reportsAPI.getReports(params);
+      const response = await reportsAPI.getReports({ view: 'summary', ...params });
       const data = Array.isArray(response.data) ? response.data : [];
       setReports(data);
     } catch (error) {
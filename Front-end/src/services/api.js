@@ -84,10 +84,14 @@ export const reportsAPI = {
   rejectReport: (id, feedback) => api.post(`/reports/${id}/reject`, null, { 
     params: { feedback } 
   }),
+  bulkReview: (reportIds, decision, feedback) => api.post('/reports/bulk-review', { reportIds, decision, feedback }),
   overrideReportStatus: (id, status, feedback) => api.post(`/reports/${id}/override-status`, null, { 
     params: { status, feedback } 
   }),
   getCurrentWeekReports: () => api.get('/reports/current-week'),
+  getStats: (params = {}) => api.get('/reports/stats', { params }),
+  searchReports: (q, params = {}) => api.get('/reports/search', { params: { q, ...params } }),
+  getCompliance: (week) => api.get('/reports/compliance', { params: week ? { week } : {} }),
   downloadPdf: (id) => api.get(`/reports/${id}/pdf`, {
     responseType: 'blob',
     headers: { Accept: 'application/pdf' }